@@ -6,9 +6,15 @@ import org.terasology.gestalt.entitysystem.component.Component;
 
 public class ProcessDefinitionComponent implements Component<ProcessDefinitionComponent> {
     public String processType;
+    /**
+     * Allows running the process in batches even though it has process parts from other modules. Those parts must not depend on
+     * the amounts of the inputs and outputs, as only the inputs, outputs and duration are scaled.
+     */
+    public boolean batchable;
 
     @Override
     public void copyFrom(ProcessDefinitionComponent other) {
         this.processType = other.processType;
+        this.batchable = other.batchable;
     }
 }
@@ -13,9 +13,14 @@ import java.util.Map;
 public class WorkstationComponent implements Component<WorkstationComponent> {
     @Replicate
     public Map<String, Boolean> supportedProcessTypes;
+    /**
+     * The largest number of times an automatic process is run at once, if enough inputs are available and the process allows it.
+     */
+    public int maxAutomaticBatch = 1;
 
     @Override
     public void copyFrom(WorkstationComponent other) {
         this.supportedProcessTypes = Maps.newHashMap(other.supportedProcessTypes);
+        this.maxAutomaticBatch = other.maxAutomaticBatch;
     }
 }
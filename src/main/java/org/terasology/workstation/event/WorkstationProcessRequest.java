@@ -13,6 +13,7 @@ import org.terasology.gestalt.entitysystem.event.Event;
 public class WorkstationProcessRequest implements Event {
     private EntityRef workstation;
     private String processId;
+    private int repeatCount = 1;
 
     public WorkstationProcessRequest() {
     }
@@ -22,6 +23,15 @@ public class WorkstationProcessRequest implements Event {
         this.processId = processId;
     }
 
+    /**
+     * @param repeatCount how many times the process should be run at once, processes that can't run in batches run once
+     */
+    public WorkstationProcessRequest(EntityRef workstation, String processId, int repeatCount) {
+        this.workstation = workstation;
+        this.processId = processId;
+        this.repeatCount = repeatCount;
+    }
+
     public EntityRef getWorkstation() {
         return workstation;
     }
@@ -29,4 +39,8 @@ public class WorkstationProcessRequest implements Event {
     public String getProcessId() {
         return processId;
     }
+
+    public int getRepeatCount() {
+        return Math.max(1, repeatCount);
+    }
 }
@@ -4,5 +4,42 @@ package org.terasology.workstation.event;
 
 import org.terasology.gestalt.entitysystem.event.Event;
 
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Send this event to a workstation when something has changed that might allow an automatic process to start.
+ * <p>
+ * Events created with the default constructor are general, anything about the workstation might have changed.
+ */
 public class WorkstationStateChanged implements Event {
+    private Set<Integer> changedSlots;
+    private boolean fluidsChanged;
+
+    public WorkstationStateChanged() {
+    }
+
+    /**
+     * @param changedSlots  the inventory slots whose content has changed
+     * @param fluidsChanged whether the fluid inventory of the workstation has changed
+     */
+    public WorkstationStateChanged(Set<Integer> changedSlots, boolean fluidsChanged) {
+        this.changedSlots = Collections.unmodifiableSet(changedSlots);
+        this.fluidsChanged = fluidsChanged;
+    }
+
+    /**
+     * @return true if the change is not narrowed down to specific inventory slots and the fluid inventory
+     */
+    public boolean isGeneral() {
+        return changedSlots == null;
+    }
+
+    public Set<Integer> getChangedSlots() {
+        return changedSlots != null ? changedSlots : Collections.emptySet();
+    }
+
+    public boolean isFluidsChanged() {
+        return fluidsChanged;
+    }
 }
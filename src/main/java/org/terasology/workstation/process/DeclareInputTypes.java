@@ -0,0 +1,19 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.process;
+
+import org.terasology.workstation.process.inventory.InventoryItemTypes;
+
+import java.util.Set;
+
+/**
+ * Implemented by processes that know which types of items and fluids they consume. A workstation whose automatic processes could
+ * not start only needs to be checked again once one of these types arrives in its input slots.
+ */
+public interface DeclareInputTypes {
+    /**
+     * @return the keys of the consumed block families, item prefabs and fluids as created by {@link InventoryItemTypes},
+     * or null if they are not known
+     */
+    Set<String> getInputTypes();
+}
@@ -0,0 +1,18 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.process;
+
+import org.terasology.workstation.process.inventory.InventoryItemTypes;
+
+import java.util.Set;
+
+/**
+ * Implemented by processes that know which types of items and fluids they produce.
+ */
+public interface DeclareOutputTypes {
+    /**
+     * @return the keys of the produced block families, item prefabs and fluids as created by {@link InventoryItemTypes},
+     * or null if they are not known
+     */
+    Set<String> getOutputTypes();
+}
@@ -0,0 +1,21 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.process;
+
+import java.util.Set;
+
+/**
+ * Implemented by processes that know which workstation slot categories they read when validating and executing.
+ * Automatic processes are only re-evaluated when a slot in one of these categories changes.
+ */
+public interface DeclareSlotCategories {
+    /**
+     * @return the categories of the inventory slots that this process reads, or null if they are not known
+     */
+    Set<String> getItemSlotCategories();
+
+    /**
+     * @return the categories of the fluid inventory slots that this process reads, or null if they are not known
+     */
+    Set<String> getFluidSlotCategories();
+}
@@ -6,14 +6,26 @@ import org.terasology.gestalt.assets.ResourceUrn;
 import org.terasology.nui.UIWidget;
 import org.terasology.nui.widgets.UILabel;
 
+import java.util.function.Supplier;
+
 public class ProcessPartDescription {
     UIWidget widget;
+    Supplier<UIWidget> widgetFactory;
 
     String displayName;
     ResourceUrn resourceUrn;
 
     public ProcessPartDescription(ResourceUrn resourceUrn, String displayName) {
-        this(resourceUrn, displayName, new UILabel(displayName));
+        this(resourceUrn, displayName, (UIWidget) null);
+    }
+
+    /**
+     * @param widgetFactory creates a new widget for each {@link #getWidget()}, so that the description can be shown in several places
+     */
+    public ProcessPartDescription(ResourceUrn resourceUrn, String displayName, Supplier<UIWidget> widgetFactory) {
+        this.resourceUrn = resourceUrn;
+        this.displayName = displayName;
+        this.widgetFactory = widgetFactory;
     }
 
     public ProcessPartDescription(ResourceUrn resourceUrn, String displayName, UIWidget widget) {
@@ -31,8 +43,13 @@ public class ProcessPartDescription {
         return displayName;
     }
 
+    /**
+     * @return a new widget, unless the description was created with a single widget
+     */
     public UIWidget getWidget() {
-        if (widget == null) {
+        if (widgetFactory != null) {
+            return widgetFactory.get();
+        } else if (widget == null) {
             UILabel textDesc = new UILabel();
             textDesc.setText(displayName);
             return textDesc;
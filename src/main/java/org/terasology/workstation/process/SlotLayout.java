@@ -0,0 +1,159 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.process;
+
+import org.terasology.module.inventory.components.InventoryAccessComponent;
+import org.terasology.workstation.component.WorkstationInventoryComponent;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The slot categories of a workstation inventory, built from its {@link InventoryAccessComponent} and
+ * {@link WorkstationInventoryComponent}. Slots are kept as int arrays per category, and one bit set holds which categories each
+ * slot is assigned to for input and for output, so that checking a slot does not go through a list.
+ * <p>
+ * A layout is immutable. It is created by {@link WorkstationInventoryUtils#getSlotLayout} and replaced when either component changes.
+ */
+public final class SlotLayout {
+    private static final int[] NO_SLOTS = new int[0];
+
+    private final InventoryAccessComponent inventoryAccess;
+    private final WorkstationInventoryComponent workstationInventory;
+
+    private final Map<String, Integer> categoryIndices = new HashMap<>();
+    private final Map<String, int[]> inputSlots = new HashMap<>();
+    private final Map<String, int[]> outputSlots = new HashMap<>();
+    private final Map<String, int[]> assignedSlots = new HashMap<>();
+    private final Map<String, List<Integer>> inputSlotLists = new HashMap<>();
+    private final Map<String, List<Integer>> outputSlotLists = new HashMap<>();
+    private final Map<String, List<Integer>> assignedSlotLists = new HashMap<>();
+    // Bit (slot * 2 * categories + 2 * category) is set for input slots, the bit after it for output slots
+    private final BitSet slotCategories = new BitSet();
+
+    public SlotLayout(InventoryAccessComponent inventoryAccess, WorkstationInventoryComponent workstationInventory) {
+        this.inventoryAccess = inventoryAccess;
+        this.workstationInventory = workstationInventory;
+
+        if (workstationInventory != null) {
+            for (Map.Entry<String, WorkstationInventoryComponent.SlotAssignment> assignment : workstationInventory.slotAssignments.entrySet()) {
+                int[] slots = new int[assignment.getValue().slotCount];
+                for (int i = 0; i < slots.length; i++) {
+                    slots[i] = assignment.getValue().slotStart + i;
+                }
+                assignedSlots.put(assignment.getKey(), slots);
+            }
+        }
+
+        Set<String> categories = new HashSet<>(assignedSlots.keySet());
+        if (inventoryAccess != null) {
+            categories.addAll(inventoryAccess.input.keySet());
+            categories.addAll(inventoryAccess.output.keySet());
+        }
+        for (String category : categories) {
+            categoryIndices.put(category, categoryIndices.size());
+            // categories without access slots fall back to the old system
+            inputSlots.put(category, inventoryAccess != null && inventoryAccess.input.containsKey(category)
+                    ? toArray(inventoryAccess.input.get(category)) : assignedSlots.getOrDefault(category, NO_SLOTS));
+            outputSlots.put(category, inventoryAccess != null && inventoryAccess.output.containsKey(category)
+                    ? toArray(inventoryAccess.output.get(category)) : assignedSlots.getOrDefault(category, NO_SLOTS));
+        }
+
+        for (String category : categories) {
+            int index = categoryIndices.get(category);
+            for (int slot : inputSlots.get(category)) {
+                if (slot >= 0) {
+                    slotCategories.set(getBit(slot, index));
+                }
+            }
+            for (int slot : outputSlots.get(category)) {
+                if (slot >= 0) {
+                    slotCategories.set(getBit(slot, index) + 1);
+                }
+            }
+        }
+        toLists(inputSlots, inputSlotLists);
+        toLists(outputSlots, outputSlotLists);
+        toLists(assignedSlots, assignedSlotLists);
+    }
+
+    /**
+     * @return whether the layout was built from these components
+     */
+    public boolean isBuiltFrom(InventoryAccessComponent currentInventoryAccess, WorkstationInventoryComponent currentWorkstationInventory) {
+        return inventoryAccess == currentInventoryAccess && workstationInventory == currentWorkstationInventory;
+    }
+
+    public boolean isInputSlot(String category, int slot) {
+        Integer index = categoryIndices.get(category);
+        return index != null && slot >= 0 && slotCategories.get(getBit(slot, index));
+    }
+
+    public boolean isOutputSlot(String category, int slot) {
+        Integer index = categoryIndices.get(category);
+        return index != null && slot >= 0 && slotCategories.get(getBit(slot, index) + 1);
+    }
+
+    /**
+     * @return whether the slot is one of the slots the workstation inventory assigns to the category
+     */
+    public boolean isInAssignedSlots(String category, int slot) {
+        int[] slots = assignedSlots.get(category);
+        // the assigned slots are a range
+        return slots != null && slots.length > 0 && slot >= slots[0] && slot < slots[0] + slots.length;
+    }
+
+    /**
+     * The returned array must not be modified.
+     */
+    public int[] getInputSlots(String category) {
+        return inputSlots.getOrDefault(category, NO_SLOTS);
+    }
+
+    /**
+     * The returned array must not be modified.
+     */
+    public int[] getOutputSlots(String category) {
+        return outputSlots.getOrDefault(category, NO_SLOTS);
+    }
+
+    List<Integer> getInputSlotList(String category) {
+        return inputSlotLists.getOrDefault(category, Collections.emptyList());
+    }
+
+    List<Integer> getOutputSlotList(String category) {
+        return outputSlotLists.getOrDefault(category, Collections.emptyList());
+    }
+
+    List<Integer> getAssignedSlotList(String category) {
+        return assignedSlotLists.getOrDefault(category, Collections.emptyList());
+    }
+
+    private int getBit(int slot, int categoryIndex) {
+        return slot * 2 * categoryIndices.size() + 2 * categoryIndex;
+    }
+
+    private static int[] toArray(List<Integer> slots) {
+        int[] result = new int[slots.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = slots.get(i);
+        }
+        return result;
+    }
+
+    private static void toLists(Map<String, int[]> slots, Map<String, List<Integer>> lists) {
+        for (Map.Entry<String, int[]> categorySlots : slots.entrySet()) {
+            List<Integer> list = new ArrayList<>(categorySlots.getValue().length);
+            for (int slot : categorySlots.getValue()) {
+                list.add(slot);
+            }
+            lists.put(categorySlots.getKey(), Collections.unmodifiableList(list));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.process;
+
+import org.terasology.engine.entitySystem.entity.EntityRef;
+
+/**
+ * Fingerprints of the contents of workstation inventories, kept up to date as the inventories change, so that checking whether
+ * the contents of a slot category have changed does not require going through its slots.
+ * <p>
+ * A fingerprint covers all the input and output slots assigned to a category. Equal fingerprints of the same workstation and category
+ * mean that the slots hold the same types and amounts of items or fluids. Fingerprints are only available on the authority.
+ */
+public interface WorkstationInventoryFingerprints {
+    /**
+     * @return the fingerprint of the item prefabs, block families and stack counts in the slots of the category
+     */
+    long getItemFingerprint(EntityRef workstation, String category);
+
+    /**
+     * @return the fingerprint of the fluid types and volumes in the fluid slots of the category
+     */
+    long getFluidFingerprint(EntityRef workstation, String category);
+}
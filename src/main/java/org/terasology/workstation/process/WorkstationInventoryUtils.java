@@ -2,29 +2,40 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.workstation.process;
 
-import com.google.common.collect.Lists;
 import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.registry.CoreRegistry;
 import org.terasology.module.inventory.components.InventoryAccessComponent;
 import org.terasology.workstation.component.WorkstationInventoryComponent;
+import org.terasology.workstation.system.SlotLayoutCacheSystem;
 
-import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 
 public final class WorkstationInventoryUtils {
     private WorkstationInventoryUtils() {
     }
 
-    public static List<Integer> getAssignedSlots(EntityRef workstation, String type) {
-        WorkstationInventoryComponent inventory = workstation.getComponent(WorkstationInventoryComponent.class);
-        List<Integer> result = new LinkedList<>();
-        if (inventory != null) {
-            WorkstationInventoryComponent.SlotAssignment slotAssignment = inventory.slotAssignments.get(type);
-            for (int i = 0; i < slotAssignment.slotCount; i++) {
-                result.add(slotAssignment.slotStart + i);
-            }
+    /**
+     * @return the slot layout of the workstation, which is cached by the {@link SlotLayoutCacheSystem} until its inventory access or
+     * slot assignments change
+     */
+    public static SlotLayout getSlotLayout(EntityRef workstation) {
+        SlotLayoutCacheSystem slotLayoutCache = CoreRegistry.get(SlotLayoutCacheSystem.class);
+        if (slotLayoutCache != null) {
+            return slotLayoutCache.getSlotLayout(workstation);
         }
-        return Collections.unmodifiableList(result);
+        return new SlotLayout(workstation.getComponent(InventoryAccessComponent.class),
+                workstation.getComponent(WorkstationInventoryComponent.class));
+    }
+
+    public static List<Integer> getAssignedSlots(EntityRef workstation, String type) {
+        return getSlotLayout(workstation).getAssignedSlotList(type);
+    }
+
+    /**
+     * @return the same as {@code getAssignedSlots(workstation, type).contains(slotNo)}
+     */
+    public static boolean isInAssignedSlots(EntityRef workstation, String type, int slotNo) {
+        return getSlotLayout(workstation).isInAssignedSlots(type, slotNo);
     }
 
     public static List<Integer> getAssignedSlots(EntityRef workstation, boolean isOutputType, String type) {
@@ -36,21 +47,27 @@ public final class WorkstationInventoryUtils {
     }
 
     public static List<Integer> getAssignedInputSlots(EntityRef workstation, String type) {
-        InventoryAccessComponent inventoryAccessComponent = workstation.getComponent(InventoryAccessComponent.class);
-        if (inventoryAccessComponent != null && inventoryAccessComponent.input.containsKey(type)) {
-            return Lists.newLinkedList(inventoryAccessComponent.input.get(type));
-        }
-        // fallback to the old system
-        return getAssignedSlots(workstation, type);
+        return getSlotLayout(workstation).getInputSlotList(type);
     }
 
     public static List<Integer> getAssignedOutputSlots(EntityRef workstation, String type) {
-        InventoryAccessComponent inventoryAccessComponent = workstation.getComponent(InventoryAccessComponent.class);
-        if (inventoryAccessComponent != null && inventoryAccessComponent.output.containsKey(type)) {
-            return Lists.newLinkedList(inventoryAccessComponent.output.get(type));
-        }
-        // fallback to the old system
-        return getAssignedSlots(workstation, type);
+        return getSlotLayout(workstation).getOutputSlotList(type);
+    }
+
+    public static boolean isInputSlot(EntityRef workstation, String type, int slotNo) {
+        return getSlotLayout(workstation).isInputSlot(type, slotNo);
+    }
+
+    public static boolean isOutputSlot(EntityRef workstation, String type, int slotNo) {
+        return getSlotLayout(workstation).isOutputSlot(type, slotNo);
+    }
+
+    /**
+     * @return true if the slot is assigned to the category, either for input or for output
+     */
+    public static boolean isAssignedSlot(EntityRef workstation, String type, int slotNo) {
+        SlotLayout slotLayout = getSlotLayout(workstation);
+        return slotLayout.isInputSlot(type, slotNo) || slotLayout.isOutputSlot(type, slotNo);
     }
 
     public static boolean hasAssignedSlots(EntityRef workstation, boolean isOutputCategory, String type) {
@@ -24,6 +24,9 @@ import org.terasology.workstation.processPart.inventory.ProcessEntityIsInvalidFo
 
 @RegisterSystem
 public class FillFluidInventoryPartProcessPartCommonSystem extends BaseComponentSystem {
+    public static final String FLUIDCONTAINERINPUTCATEGORY = "FLUID_CONTAINER_INPUT";
+    public static final String FLUIDCONTAINEROUTPUTCATEGORY = "FLUID_CONTAINER_OUTPUT";
+    public static final String FLUIDINVENTORYINPUTCATEGORY = "FLUID_INPUT";
     public static final float DELTA = 0.001f;
 
     @In
@@ -42,7 +45,7 @@ public class FillFluidInventoryPartProcessPartCommonSystem extends BaseComponent
                                          FillFluidInventoryPart fillFluidInventoryPart) {
         FluidInventoryComponent fluidInventory = event.getWorkstation().getComponent(FluidInventoryComponent.class);
 
-        for (int containerInputSlot : WorkstationInventoryUtils.getAssignedSlots(event.getWorkstation(), "FLUID_CONTAINER_INPUT")) {
+        for (int containerInputSlot : WorkstationInventoryUtils.getAssignedSlots(event.getWorkstation(), FLUIDCONTAINERINPUTCATEGORY)) {
             EntityRef containerItem = InventoryUtils.getItemAt(event.getWorkstation(), containerInputSlot);
             if (canEmptyContainerItem(event.getWorkstation(), fluidInventory, containerItem)) {
                 processEntity.addComponent(new SpecificInputSlotComponent(containerInputSlot));
@@ -70,7 +73,7 @@ public class FillFluidInventoryPartProcessPartCommonSystem extends BaseComponent
         FluidContainerItemComponent fluidContainer = containerItem.getComponent(FluidContainerItemComponent.class);
         boolean transferredFromHolder = false; // Indicate whether addFluidFromHolder (true) or addFluid (false) was used.
 
-        for (int fluidSlot : WorkstationInventoryUtils.getAssignedSlots(event.getWorkstation(), "FLUID_INPUT")) {
+        for (int fluidSlot : WorkstationInventoryUtils.getAssignedSlots(event.getWorkstation(), FLUIDINVENTORYINPUTCATEGORY)) {
             if (fluidManager.addFluidFromHolder(event.getInstigator(), event.getWorkstation(), containerItem, fluidSlot, fluidContainer.fluidType, fluidContainer.volume)) {
                 transferredFromHolder = true;
                 break;
@@ -86,7 +89,7 @@ public class FillFluidInventoryPartProcessPartCommonSystem extends BaseComponent
 
             // Transfer the used fluid container to the workstation's FLUID_CONTAINER_OUTPUT slot.
             if (CoreRegistry.get(InventoryManager.class).giveItem(event.getWorkstation(), event.getInstigator(), removedItem,
-                    WorkstationInventoryUtils.getAssignedSlots(event.getWorkstation(), "FLUID_CONTAINER_OUTPUT"))) {
+                    WorkstationInventoryUtils.getAssignedSlots(event.getWorkstation(), FLUIDCONTAINEROUTPUTCATEGORY))) {
                 return;
             }
 
@@ -107,43 +110,42 @@ public class FillFluidInventoryPartProcessPartCommonSystem extends BaseComponent
     @ReceiveEvent
     public void isValidInventoryItem(ProcessEntityIsInvalidForInventoryItemEvent event, EntityRef processEntity,
                                      FillFluidInventoryPart fillFluidInventoryPart) {
-        if (WorkstationInventoryUtils.getAssignedSlots(event.getWorkstation(), "FLUID_CONTAINER_INPUT").contains(event.getSlotNo())
-                || WorkstationInventoryUtils.getAssignedSlots(event.getWorkstation(), "FLUID_CONTAINER_OUTPUT").contains(event.getSlotNo())) {
-            for (int slot : WorkstationInventoryUtils.getAssignedSlots(event.getWorkstation(), "FLUID_CONTAINER_INPUT")) {
-                if (slot == event.getSlotNo()) {
-                    FluidContainerItemComponent fluidContainer = event.getItem().getComponent(FluidContainerItemComponent.class);
-                    if (fluidContainer == null) {
-                        event.consume();
-                        return;
-                    }
-                    if (fluidContainer.fluidType == null) {
-                        event.consume();
-                        return;
-                    }
+        boolean containerInputSlot = WorkstationInventoryUtils.isInAssignedSlots(event.getWorkstation(), FLUIDCONTAINERINPUTCATEGORY,
+                event.getSlotNo());
+        boolean containerOutputSlot = WorkstationInventoryUtils.isInAssignedSlots(event.getWorkstation(), FLUIDCONTAINEROUTPUTCATEGORY,
+                event.getSlotNo());
+        if (containerInputSlot || containerOutputSlot) {
+            if (containerInputSlot) {
+                FluidContainerItemComponent fluidContainer = event.getItem().getComponent(FluidContainerItemComponent.class);
+                if (fluidContainer == null) {
+                    event.consume();
+                    return;
+                }
+                if (fluidContainer.fluidType == null) {
+                    event.consume();
+                    return;
+                }
 
-                    FluidInventoryComponent fluidInventory = event.getWorkstation().getComponent(FluidInventoryComponent.class);
-                    if (fluidInventory == null) {
-                        event.consume();
-                        return;
-                    }
+                FluidInventoryComponent fluidInventory = event.getWorkstation().getComponent(FluidInventoryComponent.class);
+                if (fluidInventory == null) {
+                    event.consume();
+                    return;
+                }
 
-                    for (int fluidSlot : WorkstationInventoryUtils.getAssignedSlots(event.getWorkstation(), "FLUID_INPUT")) {
-                        BeforeFluidPutInInventory beforeFluidAdded = new BeforeFluidPutInInventory(event.getInstigator(), fluidContainer.fluidType, fluidContainer.volume, fluidSlot);
-                        event.getWorkstation().send(beforeFluidAdded);
-                        if (!beforeFluidAdded.isConsumed()) {
-                            return;
-                        }
+                for (int fluidSlot : WorkstationInventoryUtils.getAssignedSlots(event.getWorkstation(), FLUIDINVENTORYINPUTCATEGORY)) {
+                    BeforeFluidPutInInventory beforeFluidAdded = new BeforeFluidPutInInventory(event.getInstigator(), fluidContainer.fluidType, fluidContainer.volume, fluidSlot);
+                    event.getWorkstation().send(beforeFluidAdded);
+                    if (!beforeFluidAdded.isConsumed()) {
+                        return;
                     }
                 }
             }
 
-            for (int slot : WorkstationInventoryUtils.getAssignedSlots(event.getWorkstation(), "FLUID_CONTAINER_OUTPUT")) {
-                if (slot == event.getSlotNo()) {
-                    if (event.getWorkstation() != event.getInstigator()) {
-                        event.consume();
-                    }
-                    return;
+            if (containerOutputSlot) {
+                if (event.getWorkstation() != event.getInstigator()) {
+                    event.consume();
                 }
+                return;
             }
 
             event.consume();
@@ -160,7 +162,7 @@ public class FillFluidInventoryPartProcessPartCommonSystem extends BaseComponent
     private boolean canEmptyContainerItem(EntityRef workstation, FluidInventoryComponent fluidInventory, EntityRef containerItem) {
         FluidContainerItemComponent fluidContainer = containerItem.getComponent(FluidContainerItemComponent.class);
         if (fluidContainer != null && fluidContainer.fluidType != null) {
-            for (int fluidSlot : WorkstationInventoryUtils.getAssignedSlots(workstation, "FLUID_INPUT")) {
+            for (int fluidSlot : WorkstationInventoryUtils.getAssignedSlots(workstation, FLUIDINVENTORYINPUTCATEGORY)) {
                 FluidComponent fluid = fluidInventory.fluidSlots.get(fluidSlot).getComponent(FluidComponent.class);
                 Float maximumVolume = fluidInventory.maximumVolumes.get(fluidSlot);
 
@@ -170,7 +172,7 @@ public class FillFluidInventoryPartProcessPartCommonSystem extends BaseComponent
                     try {
                         FluidContainerItemComponent fluidContainerCopy = tempEntity.getComponent(FluidContainerItemComponent.class);
                         fluidContainerCopy.fluidType = null;
-                        for (int containerOutputSlot : WorkstationInventoryUtils.getAssignedSlots(workstation, "FLUID_CONTAINER_OUTPUT")) {
+                        for (int containerOutputSlot : WorkstationInventoryUtils.getAssignedSlots(workstation, FLUIDCONTAINEROUTPUTCATEGORY)) {
                             EntityRef outputItem = InventoryUtils.getItemAt(workstation, containerOutputSlot);
                             if (InventoryUtils.canStackInto(tempEntity, outputItem)) {
                                 return true;
@@ -190,7 +192,7 @@ public class FillFluidInventoryPartProcessPartCommonSystem extends BaseComponent
                             fluidContainerCopy.fluidType = null;
                         }
 
-                        for (int containerOutputSlot : WorkstationInventoryUtils.getAssignedSlots(workstation, "FLUID_CONTAINER_OUTPUT")) {
+                        for (int containerOutputSlot : WorkstationInventoryUtils.getAssignedSlots(workstation, FLUIDCONTAINEROUTPUTCATEGORY)) {
                             EntityRef outputItem = InventoryUtils.getItemAt(workstation, containerOutputSlot);
                             if (InventoryUtils.canStackInto(tempEntity, outputItem)) {
                                 return true;
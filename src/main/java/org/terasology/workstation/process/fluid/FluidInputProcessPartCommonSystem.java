@@ -2,8 +2,6 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.workstation.process.fluid;
 
-import com.google.common.base.Predicate;
-import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,7 +24,6 @@ import org.terasology.workstation.processPart.ProcessEntityStartExecutionEvent;
 import org.terasology.workstation.processPart.inventory.ProcessEntityIsInvalidForFluidEvent;
 import org.terasology.workstation.processPart.metadata.ProcessEntityGetInputDescriptionEvent;
 
-import java.util.HashMap;
 import java.util.Map;
 
 @RegisterSystem
@@ -65,13 +62,13 @@ public class FluidInputProcessPartCommonSystem extends BaseComponentSystem {
         // Select the items to consume and save it to the process entity using the InventoryInputItemsComponent
         final Map<Integer, Float> slotAmounts = Maps.newHashMap();
 
-        for (Map.Entry<Predicate<String>, Float> requiredItem : getInputItems(fluidInputComponent).entrySet()) {
-            Predicate<String> filter = requiredItem.getKey();
+        for (Map.Entry<String, Float> requiredItem : fluidInputComponent.fluidVolumes.entrySet()) {
+            String requiredFluid = requiredItem.getKey();
             float remainingToFind = requiredItem.getValue();
             boolean foundItem = false;
             for (int slot : WorkstationInventoryUtils.getAssignedInputSlots(event.getWorkstation(), FLUIDINPUTCATEGORY)) {
                 String item = FluidUtils.getFluidAt(event.getWorkstation(), slot);
-                if (filter.apply(item)) {
+                if (requiredFluid.equals(item)) {
                     ProcessEntityIsInvalidForFluidEvent validForFluidEvent = new ProcessEntityIsInvalidForFluidEvent(event.getWorkstation(), slot, event.getInstigator(), item);
                     processEntity.send(validForFluidEvent);
                     if (validForFluidEvent.isConsumed()) {
@@ -140,8 +137,8 @@ public class FluidInputProcessPartCommonSystem extends BaseComponentSystem {
     @ReceiveEvent
     public void isValidFluid(ProcessEntityIsInvalidForFluidEvent event, EntityRef processEntity,
                              FluidInputComponent fluidInputComponent) {
-        if (WorkstationInventoryUtils.getAssignedInputSlots(event.getWorkstation(), FLUIDINPUTCATEGORY).contains(event.getSlotNo())) {
-            if (!Iterables.any(getInputItems(fluidInputComponent).keySet(), x -> x.apply(event.getFluidType()))) {
+        if (WorkstationInventoryUtils.isInputSlot(event.getWorkstation(), FLUIDINPUTCATEGORY, event.getSlotNo())) {
+            if (!fluidInputComponent.fluidVolumes.containsKey(event.getFluidType())) {
                 event.consume();
             }
         }
@@ -158,18 +155,4 @@ public class FluidInputProcessPartCommonSystem extends BaseComponentSystem {
             event.addInputDescription(new ProcessPartDescription(new ResourceUrn(fluidAmount.getKey()), fluidAmount.getValue() + "mL " + fluidName));
         }
     }
-
-    private Map<Predicate<String>, Float> getInputItems(FluidInputComponent fluidInputComponent) {
-        Map<Predicate<String>, Float> result = new HashMap<>();
-        for (final Map.Entry<String, Float> fluidAmount : fluidInputComponent.fluidVolumes.entrySet()) {
-            result.put(new Predicate<String>() {
-                @Override
-                public boolean apply(String input) {
-                    return fluidAmount.getKey().equals(input);
-                }
-            }, fluidAmount.getValue());
-        }
-
-        return result;
-    }
 }
@@ -95,7 +95,7 @@ public class FluidOutputProcessPartCommonSystem extends BaseComponentSystem {
     @ReceiveEvent
     public void blockFamilyInputIsValidFluid(ProcessEntityIsInvalidForFluidEvent event, EntityRef processEntity,
                                              FluidOutputComponent fluidOutputComponent) {
-        if (WorkstationInventoryUtils.getAssignedOutputSlots(event.getWorkstation(), FLUIDOUTPUTCATEGORY).contains(event.getSlotNo())) {
+        if (WorkstationInventoryUtils.isOutputSlot(event.getWorkstation(), FLUIDOUTPUTCATEGORY, event.getSlotNo())) {
             if (!event.getWorkstation().equals(event.getInstigator())) {
                 event.consume();
             }
@@ -3,7 +3,19 @@
 package org.terasology.workstation.process.fluid;
 
 import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.workstation.process.DeclareSlotCategories;
 
 public interface ValidateFluidInventoryItem {
     boolean isValidFluid(EntityRef workstation, int slotNo, EntityRef instigator, String fluidType);
+
+    /**
+     * A process whose validation is not instance dependent decides only from the fluid type, the
+     * {@link DeclareSlotCategories declared fluid slot categories} the slot is assigned to and whether the workstation is the
+     * instigator. Its answers are cached.
+     *
+     * @return true if the validation may depend on anything else about the workstation
+     */
+    default boolean isValidationInstanceDependent() {
+        return true;
+    }
 }
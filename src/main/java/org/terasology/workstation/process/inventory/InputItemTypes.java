@@ -0,0 +1,50 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.process.inventory;
+
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+
+import java.util.Map;
+
+/**
+ * The items an inventory input consumes as amounts by block family and item prefab id, compiled once per definition.
+ */
+final class InputItemTypes {
+    private final TIntIntMap amounts = new TIntIntHashMap();
+    private boolean resolved = true;
+
+    InputItemTypes(Map<String, Integer> blockCounts, Map<String, Integer> itemCounts, ItemTypeIds itemTypeIds) {
+        for (Map.Entry<String, Integer> blockFamilyCount : blockCounts.entrySet()) {
+            amounts.put(itemTypeIds.forBlockFamily(blockFamilyCount.getKey()), blockFamilyCount.getValue());
+        }
+        for (Map.Entry<String, Integer> itemCount : itemCounts.entrySet()) {
+            amounts.put(itemTypeIds.forItemPrefab(itemCount.getKey()), itemCount.getValue());
+            resolved &= itemTypeIds.isResolvedItemPrefab(itemCount.getKey());
+        }
+    }
+
+    /**
+     * @return whether all the item prefabs could be found, the types must not be kept otherwise
+     */
+    boolean isResolved() {
+        return resolved;
+    }
+
+    /**
+     * The returned map must not be modified.
+     */
+    TIntIntMap getAmounts() {
+        return amounts;
+    }
+
+    boolean isInputItem(EntityRef item, ItemTypeIds itemTypeIds) {
+        int blockFamilyId = itemTypeIds.getBlockFamilyId(item);
+        if (blockFamilyId != ItemTypeIds.NONE && amounts.containsKey(blockFamilyId)) {
+            return true;
+        }
+        int itemPrefabId = itemTypeIds.getItemPrefabId(item);
+        return itemPrefabId != ItemTypeIds.NONE && amounts.containsKey(itemPrefabId);
+    }
+}
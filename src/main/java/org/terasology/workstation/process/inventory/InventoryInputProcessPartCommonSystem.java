@@ -2,8 +2,6 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.workstation.process.inventory;
 
-import com.google.common.base.Predicate;
-import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,11 +11,7 @@ import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
 import org.terasology.engine.entitySystem.systems.RegisterSystem;
 import org.terasology.engine.logic.inventory.ItemComponent;
 import org.terasology.engine.registry.In;
-import org.terasology.engine.utilities.Assets;
 import org.terasology.engine.world.block.BlockManager;
-import org.terasology.engine.world.block.BlockUri;
-import org.terasology.engine.world.block.items.BlockItemComponent;
-import org.terasology.gestalt.assets.ResourceUrn;
 import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
 import org.terasology.module.inventory.systems.InventoryManager;
 import org.terasology.module.inventory.systems.InventoryUtils;
@@ -25,17 +19,25 @@ import org.terasology.workstation.process.WorkstationInventoryUtils;
 import org.terasology.workstation.processPart.ProcessEntityIsInvalidEvent;
 import org.terasology.workstation.processPart.ProcessEntityIsInvalidToStartEvent;
 import org.terasology.workstation.processPart.ProcessEntityStartExecutionEvent;
+import org.terasology.workstation.processPart.inventory.ProcessEntityInputsPlannedEvent;
 import org.terasology.workstation.processPart.inventory.ProcessEntityIsInvalidForInventoryItemEvent;
 import org.terasology.workstation.processPart.metadata.ProcessEntityGetInputDescriptionEvent;
+import org.terasology.workstation.system.WorkstationConfig;
+import org.terasology.workstation.system.WorkstationRegistry;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * This system will:
  * On ProcessEntityIsInvalidToStartEvent
- * - find all item slots and save a InventoryInputProcessPartSlotAmountsComponent to the process entity
+ * - find all item slots, send a ProcessEntityInputsPlannedEvent with the planned inputs and save a
+ *   InventoryInputProcessPartSlotAmountsComponent to the process entity
  * On ProcessEntityStartExecutionEvent
  * - use the slot amounts from the validation event to remove items from the inventory and add them to a InventoryInputItemsComponent saved on the proces entity.
  * - the items added to InventoryInputItemsComponent will be destroyed when the process entity is destroyed
@@ -51,6 +53,21 @@ public class InventoryInputProcessPartCommonSystem extends BaseComponentSystem {
     BlockManager blockManager;
     @In
     EntityManager entityManager;
+    @In
+    WorkstationConfig config;
+    @In
+    WorkstationRegistry workstationRegistry;
+    @In
+    ItemTypeIds itemTypeIds;
+
+    // the input item types of each combination of block and item counts
+    private final Map<List<Map<String, Integer>>, InputItemTypes> inputItemTypesByCounts = new HashMap<>();
+    private long inputItemTypesRegistryVersion = -1;
+
+    @Override
+    public void shutdown() {
+        inputItemTypesByCounts.clear();
+    }
 
     @ReceiveEvent
     public void validateProcess(ProcessEntityIsInvalidEvent event, EntityRef processEntity,
@@ -76,38 +93,73 @@ public class InventoryInputProcessPartCommonSystem extends BaseComponentSystem {
     @ReceiveEvent
     public void validateToStartExecution(ProcessEntityIsInvalidToStartEvent event, EntityRef processEntity,
                                          InventoryInputComponent inventoryInputComponent) {
-        Map<Predicate<EntityRef>, Integer> itemFilters = getBlockFamilyItemsPredicateMap(inventoryInputComponent);
-        Map<Integer, Integer> slotAmounts = InventoryProcessPartUtils.findItems(event.getWorkstation(), WORKSTATIONINPUTCATEGORY,
-                itemFilters, processEntity, event.getInstigator());
-        if (slotAmounts != null) {
-            processEntity.addComponent(new InventoryInputProcessPartSlotAmountsComponent(slotAmounts));
-            Set<EntityRef> inputItems = Sets.newHashSet();
-            for (Map.Entry<Integer, Integer> slotAmount : slotAmounts.entrySet()) {
-                EntityRef item = InventoryUtils.getItemAt(event.getWorkstation(), slotAmount.getKey());
-                EntityRef copiedItem = item.copy();
-                ItemComponent itemComponent = copiedItem.getComponent(ItemComponent.class);
-                itemComponent.stackCount = slotAmount.getValue().byteValue();
-                copiedItem.saveComponent(itemComponent);
-                inputItems.add(copiedItem);
-            }
-            processEntity.addComponent(new InventoryInputItemsComponent(inputItems));
-            processEntity.removeComponent(InventoryInputItemsComponent.class);
-            for (EntityRef inputItem : inputItems) {
-                inputItem.destroy();
-            }
-        } else {
+        Map<Integer, Integer> slotAmounts = InventoryProcessPartUtils.findItemsByType(event.getWorkstation(), WORKSTATIONINPUTCATEGORY,
+                getInputItemTypes(inventoryInputComponent).getAmounts(), itemTypeIds, processEntity, event.getInstigator());
+        if (slotAmounts == null) {
             event.consume();
+            return;
+        }
+
+        ProcessEntityInputsPlannedEvent plannedEvent = new ProcessEntityInputsPlannedEvent(event.getWorkstation(), event.getInstigator(),
+                getPlannedInputs(event.getWorkstation(), slotAmounts));
+        processEntity.send(plannedEvent);
+        if (plannedEvent.isConsumed()) {
+            event.consume();
+            return;
+        }
+
+        processEntity.addComponent(new InventoryInputProcessPartSlotAmountsComponent(slotAmounts));
+        if (config.copyInputItemsForValidation.get()) {
+            showCopiedInputItems(event.getWorkstation(), processEntity, slotAmounts);
         }
     }
 
-    private Map<Predicate<EntityRef>, Integer> getBlockFamilyItemsPredicateMap(InventoryInputComponent inventoryInputComponent) {
-        Map<Predicate<EntityRef>, Integer> result = new HashMap<>();
-        for (Map.Entry<String, Integer> blockFamilyCount : inventoryInputComponent.blockCounts.entrySet()) {
-            result.put(new BlockFamilyPredicate(new BlockUri(blockFamilyCount.getKey())), blockFamilyCount.getValue());
+    private List<PlannedInput> getPlannedInputs(EntityRef workstation, Map<Integer, Integer> slotAmounts) {
+        List<PlannedInput> result = new ArrayList<>(slotAmounts.size());
+        for (Map.Entry<Integer, Integer> slotAmount : slotAmounts.entrySet()) {
+            EntityRef item = InventoryUtils.getItemAt(workstation, slotAmount.getKey());
+            result.add(new PlannedInput(slotAmount.getKey(), item, slotAmount.getValue(), itemTypeIds.getBlockFamilyId(item),
+                    itemTypeIds.getItemPrefabId(item)));
         }
+        return Collections.unmodifiableList(result);
+    }
 
-        for (Map.Entry<String, Integer> itemCount : inventoryInputComponent.itemCounts.entrySet()) {
-            result.put(new ItemPrefabPredicate(Assets.getPrefab(itemCount.getKey()).get().getUrn()), itemCount.getValue());
+    /**
+     * Briefly adds copies of the selected items to the process entity, for systems that look at the inputs through the added
+     * InventoryInputItemsComponent instead of the {@link ProcessEntityInputsPlannedEvent}.
+     */
+    private static void showCopiedInputItems(EntityRef workstation, EntityRef processEntity, Map<Integer, Integer> slotAmounts) {
+        Set<EntityRef> inputItems = Sets.newHashSet();
+        for (Map.Entry<Integer, Integer> slotAmount : slotAmounts.entrySet()) {
+            EntityRef item = InventoryUtils.getItemAt(workstation, slotAmount.getKey());
+            EntityRef copiedItem = item.copy();
+            ItemComponent itemComponent = copiedItem.getComponent(ItemComponent.class);
+            itemComponent.stackCount = slotAmount.getValue().byteValue();
+            copiedItem.saveComponent(itemComponent);
+            inputItems.add(copiedItem);
+        }
+        processEntity.addComponent(new InventoryInputItemsComponent(inputItems));
+        processEntity.removeComponent(InventoryInputItemsComponent.class);
+        for (EntityRef inputItem : inputItems) {
+            inputItem.destroy();
+        }
+    }
+
+    private InputItemTypes getInputItemTypes(InventoryInputComponent inventoryInputComponent) {
+        // reloaded processes may come with reloaded item prefabs
+        if (inputItemTypesRegistryVersion != workstationRegistry.getVersion()) {
+            inputItemTypesByCounts.clear();
+            inputItemTypesRegistryVersion = workstationRegistry.getVersion();
+        }
+        List<Map<String, Integer>> key = Arrays.asList(inventoryInputComponent.blockCounts, inventoryInputComponent.itemCounts);
+        InputItemTypes result = inputItemTypesByCounts.get(key);
+        if (result == null) {
+            result = new InputItemTypes(inventoryInputComponent.blockCounts, inventoryInputComponent.itemCounts, itemTypeIds);
+            if (result.isResolved()) {
+                // copies, as the counts of a component may still be changed
+                inputItemTypesByCounts.put(Arrays.asList(new HashMap<>(inventoryInputComponent.blockCounts),
+                        new HashMap<>(inventoryInputComponent.itemCounts)), result);
+            }
         }
         return result;
     }
@@ -146,8 +198,8 @@ public class InventoryInputProcessPartCommonSystem extends BaseComponentSystem {
     @ReceiveEvent
     public void validateInventoryItem(ProcessEntityIsInvalidForInventoryItemEvent event, EntityRef processEntity,
                                       InventoryInputComponent inventoryInputComponent) {
-        if (WorkstationInventoryUtils.getAssignedInputSlots(event.getWorkstation(), WORKSTATIONINPUTCATEGORY).contains(event.getSlotNo())
-                && !Iterables.any(getBlockFamilyItemsPredicateMap(inventoryInputComponent).keySet(), x -> x.apply(event.getItem()))) {
+        if (WorkstationInventoryUtils.isInputSlot(event.getWorkstation(), WORKSTATIONINPUTCATEGORY, event.getSlotNo())
+                && !getInputItemTypes(inventoryInputComponent).isInputItem(event.getItem(), itemTypeIds)) {
             event.consume();
         }
     }
@@ -167,38 +219,4 @@ public class InventoryInputProcessPartCommonSystem extends BaseComponentSystem {
             }
         }
     }
-
-    private static final class BlockFamilyPredicate implements Predicate<EntityRef> {
-        private BlockUri blockFamilyUri;
-
-        private BlockFamilyPredicate(BlockUri blockFamilyUri) {
-            this.blockFamilyUri = blockFamilyUri;
-        }
-
-        @Override
-        public boolean apply(EntityRef input) {
-            BlockItemComponent blockItem = input.getComponent(BlockItemComponent.class);
-            if (blockItem == null) {
-                return false;
-            }
-            return blockItem.blockFamily.getURI().equals(blockFamilyUri);
-        }
-    }
-
-    private static final class ItemPrefabPredicate implements Predicate<EntityRef> {
-        private ResourceUrn prefab;
-
-        private ItemPrefabPredicate(ResourceUrn prefab) {
-            this.prefab = prefab;
-        }
-
-        @Override
-        public boolean apply(EntityRef input) {
-            ItemComponent item = input.getComponent(ItemComponent.class);
-            if (item == null) {
-                return false;
-            }
-            return input.getParentPrefab().getUrn().equals(prefab);
-        }
-    }
 }
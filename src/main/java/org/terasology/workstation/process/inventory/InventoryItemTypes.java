@@ -0,0 +1,66 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.process.inventory;
+
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.engine.utilities.Assets;
+import org.terasology.engine.world.block.BlockUri;
+import org.terasology.engine.world.block.items.BlockItemComponent;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Normalised keys for the types of items and fluids used by processes, so that the types a process consumes can be compared with
+ * the contents of a workstation as plain strings.
+ */
+public final class InventoryItemTypes {
+    private static final String BLOCK_PREFIX = "block:";
+    private static final String ITEM_PREFIX = "item:";
+    private static final String FLUID_PREFIX = "fluid:";
+
+    private InventoryItemTypes() {
+    }
+
+    /**
+     * @param blockFamilyUri a block family as used in {@link InventoryInputComponent#blockCounts}
+     */
+    public static String forBlockFamily(String blockFamilyUri) {
+        return BLOCK_PREFIX + new BlockUri(blockFamilyUri).toNormalisedString();
+    }
+
+    /**
+     * @param prefabName an item prefab as used in {@link InventoryInputComponent#itemCounts}, resolved if it is not fully qualified
+     */
+    public static String forItemPrefab(String prefabName) {
+        Optional<Prefab> prefab = Assets.getPrefab(prefabName);
+        return ITEM_PREFIX + (prefab.isPresent() ? prefab.get().getUrn().toString() : prefabName).toLowerCase(Locale.ROOT);
+    }
+
+    public static String forFluid(String fluidType) {
+        return FLUID_PREFIX + fluidType.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return the key of the block family of a block item, or null if the item is not a block item
+     */
+    public static String getBlockFamilyType(EntityRef item) {
+        BlockItemComponent blockItem = item.getComponent(BlockItemComponent.class);
+        if (blockItem == null || blockItem.blockFamily == null) {
+            return null;
+        }
+        return BLOCK_PREFIX + blockItem.blockFamily.getURI().toNormalisedString();
+    }
+
+    /**
+     * @return the key of the prefab the item is based on, or null if it is not based on a prefab
+     */
+    public static String getItemPrefabType(EntityRef item) {
+        Prefab prefab = item.getParentPrefab();
+        if (prefab == null) {
+            return null;
+        }
+        return ITEM_PREFIX + prefab.getUrn().toString().toLowerCase(Locale.ROOT);
+    }
+}
@@ -20,8 +20,13 @@ import org.terasology.workstation.processPart.ProcessEntityIsInvalidEvent;
 import org.terasology.workstation.processPart.ProcessEntityIsInvalidToStartEvent;
 import org.terasology.workstation.processPart.inventory.ProcessEntityIsInvalidForInventoryItemEvent;
 import org.terasology.workstation.processPart.metadata.ProcessEntityGetOutputDescriptionEvent;
+import org.terasology.workstation.system.WorkstationConfig;
 import org.terasology.workstation.system.WorkstationRegistry;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @RegisterSystem
@@ -37,6 +42,17 @@ public class InventoryOutputProcessPartCommonSystem extends BaseComponentSystem
     BlockManager blockManager;
     @In
     EntityManager entityManager;
+    @In
+    WorkstationConfig config;
+
+    // the output stacks of each combination of block and item counts
+    private final Map<List<Map<String, Integer>>, OutputStacks> outputStacksByCounts = new HashMap<>();
+    private long outputStacksRegistryVersion = -1;
+
+    @Override
+    public void shutdown() {
+        outputStacksByCounts.clear();
+    }
 
     @ReceiveEvent
     public void validateProcess(ProcessEntityIsInvalidEvent event, EntityRef processEntity,
@@ -63,6 +79,14 @@ public class InventoryOutputProcessPartCommonSystem extends BaseComponentSystem
     @ReceiveEvent
     public void validateToStartExecution(ProcessEntityIsInvalidToStartEvent event, EntityRef processEntity,
                                          InventoryOutputComponent inventoryOutputComponent) {
+        OutputStacks outputStacks = config.createOutputItemsForValidation.get() ? null : getOutputStacks(inventoryOutputComponent);
+        if (outputStacks != null) {
+            if (!outputStacks.fitInto(event.getWorkstation(), WORKSTATIONOUTPUTCATEGORY)) {
+                event.consume();
+            }
+            return;
+        }
+
         Set<EntityRef> outputItems = InventoryProcessPartUtils.createItems(inventoryOutputComponent.blockCounts,
                 inventoryOutputComponent.itemCounts, false, entityManager, blockManager);
         // allow other systems to post process these items
@@ -73,6 +97,26 @@ public class InventoryOutputProcessPartCommonSystem extends BaseComponentSystem
         processEntity.removeComponent(InventoryOutputItemsComponent.class);
     }
 
+    private OutputStacks getOutputStacks(InventoryOutputComponent inventoryOutputComponent) {
+        // reloaded processes may come with reloaded item prefabs of other stack ids or sizes
+        if (outputStacksRegistryVersion != workstationRegistry.getVersion()) {
+            outputStacksByCounts.clear();
+            outputStacksRegistryVersion = workstationRegistry.getVersion();
+        }
+        List<Map<String, Integer>> key = Arrays.asList(inventoryOutputComponent.blockCounts, inventoryOutputComponent.itemCounts);
+        OutputStacks result = outputStacksByCounts.get(key);
+        if (result == null) {
+            result = OutputStacks.compile(inventoryOutputComponent.blockCounts, inventoryOutputComponent.itemCounts,
+                    entityManager, blockManager);
+            if (result != null) {
+                // copies, as the counts of a component may still be changed
+                outputStacksByCounts.put(Arrays.asList(new HashMap<>(inventoryOutputComponent.blockCounts),
+                        new HashMap<>(inventoryOutputComponent.itemCounts)), result);
+            }
+        }
+        return result;
+    }
+
     @Priority(EventPriority.PRIORITY_LOW)
     @ReceiveEvent
     public void finish(ProcessEntityFinishExecutionEvent event, EntityRef processEntity,
@@ -93,7 +137,7 @@ public class InventoryOutputProcessPartCommonSystem extends BaseComponentSystem
     public void isValidInventoryItem(ProcessEntityIsInvalidForInventoryItemEvent event, EntityRef processEntity,
                                      InventoryOutputComponent inventoryOutputComponent) {
         // only allow the workstation to put items in the output
-        if (WorkstationInventoryUtils.getAssignedOutputSlots(event.getWorkstation(), WORKSTATIONOUTPUTCATEGORY).contains(event.getSlotNo())
+        if (WorkstationInventoryUtils.isOutputSlot(event.getWorkstation(), WORKSTATIONOUTPUTCATEGORY, event.getSlotNo())
                 && !event.getInstigator().equals(event.getWorkstation())) {
             event.consume();
         }
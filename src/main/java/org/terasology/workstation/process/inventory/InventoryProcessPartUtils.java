@@ -4,6 +4,11 @@ package org.terasology.workstation.process.inventory;
 
 import com.google.common.base.Predicate;
 import com.google.common.collect.Maps;
+import gnu.trove.list.TIntList;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
 import org.terasology.gestalt.assets.ResourceUrn;
 import org.terasology.engine.entitySystem.entity.EntityBuilder;
 import org.terasology.engine.entitySystem.entity.EntityManager;
@@ -32,32 +37,55 @@ public abstract class InventoryProcessPartUtils {
     public static Set<EntityRef> createItems(Map<String, Integer> blockCounts, Map<String, Integer> itemCounts, boolean createPersistentEntities, EntityManager entityManager, BlockManager blockManager) {
         BlockItemFactory itemFactory = new BlockItemFactory(entityManager);
         Set<EntityRef> result = new HashSet<>();
-        // create blocks
+        // create blocks, splitting amounts larger than a stack
         for (Map.Entry<String, Integer> blockCount : blockCounts.entrySet()) {
             BlockFamily blockFamily = blockManager.getBlockFamily(blockCount.getKey());
-            EntityBuilder entityBuilder = itemFactory.newBuilder(blockFamily, blockCount.getValue());
-            entityBuilder.setPersistent(createPersistentEntities);
-            result.add(entityBuilder.build());
+            int remaining = blockCount.getValue();
+            do {
+                EntityBuilder entityBuilder = itemFactory.newBuilder(blockFamily, remaining);
+                entityBuilder.setPersistent(createPersistentEntities);
+                remaining -= limitToStack(entityBuilder, remaining);
+                result.add(entityBuilder.build());
+            } while (remaining > 0);
         }
 
         // create items
         for (Map.Entry<String, Integer> itemCount : itemCounts.entrySet()) {
-            EntityBuilder entityBuilder = entityManager.newBuilder(itemCount.getKey());
-            entityBuilder.setPersistent(createPersistentEntities);
+            int remaining = itemCount.getValue();
+            do {
+                EntityBuilder entityBuilder = entityManager.newBuilder(itemCount.getKey());
+                entityBuilder.setPersistent(createPersistentEntities);
 
-            ItemComponent item = entityBuilder.getComponent(ItemComponent.class);
+                ItemComponent item = entityBuilder.getComponent(ItemComponent.class);
 
-            // Only set the stack count if the ItemComponent exists.
-            if (item != null) {
-                item.stackCount = itemCount.getValue().byteValue();
-                entityBuilder.saveComponent(item);
+                // Only set the stack count if the ItemComponent exists.
+                if (item == null) {
+                    break;
+                }
+                remaining -= limitToStack(entityBuilder, remaining);
                 result.add(entityBuilder.build());
-            }
+            } while (remaining > 0);
         }
 
         return result;
     }
 
+    /**
+     * Sets the stack count of the item being built to the amount, or to the maximum stack size if the amount does not fit in a stack.
+     *
+     * @return the stack count that was set
+     */
+    private static int limitToStack(EntityBuilder entityBuilder, int amount) {
+        ItemComponent item = entityBuilder.getComponent(ItemComponent.class);
+        if (item == null) {
+            return amount;
+        }
+        int stackCount = Math.min(amount, item.maxStackSize > 0 ? item.maxStackSize : Byte.MAX_VALUE);
+        item.stackCount = (byte) stackCount;
+        entityBuilder.saveComponent(item);
+        return stackCount;
+    }
+
     /**
      * Selects matching items in a workstation.  If the items are not all found,  return  null. Also will check to ensure no other systems
      * reject this item
@@ -103,6 +131,76 @@ public abstract class InventoryProcessPartUtils {
         return slotAmounts;
     }
 
+    /**
+     * Selects the items of the required types in a workstation, like {@link #findItems} does for predicates. The input slots are
+     * scanned once to find the slots holding each required type, and only the slots that are selected are checked for being
+     * rejected by other systems.
+     *
+     * @param requiredTypes the amounts by block family and item prefab id, as created by the given {@link ItemTypeIds}
+     * @return the amounts to take by slot, or null if not all are found
+     */
+    public static Map<Integer, Integer> findItemsByType(EntityRef workstation, String workstationInventoryCategory,
+                                                        TIntIntMap requiredTypes, ItemTypeIds itemTypeIds, EntityRef processEntity,
+                                                        EntityRef instigator) {
+        // the slots holding each of the required types, in slot order
+        TIntObjectMap<TIntList> slotsByType = new TIntObjectHashMap<>();
+        for (int slot : WorkstationInventoryUtils.getSlotLayout(workstation).getInputSlots(workstationInventoryCategory)) {
+            EntityRef item = InventoryUtils.getItemAt(workstation, slot);
+            if (!item.exists()) {
+                continue;
+            }
+            addSlotOfType(slotsByType, requiredTypes, itemTypeIds.getBlockFamilyId(item), slot);
+            addSlotOfType(slotsByType, requiredTypes, itemTypeIds.getItemPrefabId(item), slot);
+        }
+
+        final Map<Integer, Integer> slotAmounts = Maps.newHashMap();
+        for (int requiredType : requiredTypes.keys()) {
+            int remainingToFind = requiredTypes.get(requiredType);
+            boolean foundItem = false;
+            TIntList slots = slotsByType.get(requiredType);
+            for (int i = 0; slots != null && i < slots.size(); i++) {
+                int slot = slots.get(i);
+                EntityRef item = InventoryUtils.getItemAt(workstation, slot);
+                int alreadyUsed = slotAmounts.getOrDefault(slot, 0);
+                int available = InventoryUtils.getStackCount(item) - alreadyUsed;
+                if (available <= 0) {
+                    continue;
+                }
+                // make sure no other systems reject this item
+                ProcessEntityIsInvalidForInventoryItemEvent validationEvent = new ProcessEntityIsInvalidForInventoryItemEvent(workstation, slot, instigator, item);
+                processEntity.send(validationEvent);
+                if (validationEvent.isConsumed()) {
+                    continue;
+                }
+
+                foundItem = true;
+                int amountToUse = Math.min(remainingToFind, available);
+                slotAmounts.put(slot, alreadyUsed + amountToUse);
+                remainingToFind -= amountToUse;
+                if (remainingToFind == 0) {
+                    break;
+                }
+            }
+
+            if (!foundItem || remainingToFind > 0) {
+                return null;
+            }
+        }
+
+        return slotAmounts;
+    }
+
+    private static void addSlotOfType(TIntObjectMap<TIntList> slotsByType, TIntIntMap requiredTypes, int type, int slot) {
+        if (type != ItemTypeIds.NONE && requiredTypes.containsKey(type)) {
+            TIntList slots = slotsByType.get(type);
+            if (slots == null) {
+                slots = new TIntArrayList();
+                slotsByType.put(type, slots);
+            }
+            slots.add(slot);
+        }
+    }
+
     public static boolean canGiveItemsTo(EntityRef workstation, Set<EntityRef> outputItems, String workstationInventoryCategory) {
         try {
             Set<EntityRef> itemsLeftToAssign = new HashSet<>(outputItems);
@@ -144,6 +242,8 @@ public abstract class InventoryProcessPartUtils {
 
         String displayName =
                 Optional.ofNullable(item.getComponent(DisplayNameComponent.class)).map(c -> c.name).orElse("");
-        return new ProcessPartDescription(resourceUrn, displayName, new InventoryItem(item));
+        // only the values shown are kept, each widget showing the description gets its own copy
+        InventoryItem itemWidget = new InventoryItem(item);
+        return new ProcessPartDescription(resourceUrn, displayName, () -> new InventoryItem(itemWidget));
     }
 }
@@ -0,0 +1,129 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.process.inventory;
+
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.logic.inventory.ItemComponent;
+import org.terasology.engine.registry.Share;
+import org.terasology.engine.utilities.Assets;
+import org.terasology.engine.world.block.family.BlockFamily;
+import org.terasology.engine.world.block.items.BlockItemComponent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Interned integer ids of the {@link InventoryItemTypes} keys of block families and item prefabs, so that matching an item against
+ * the inputs of a process is an int comparison.
+ * <p>
+ * The names used by process definitions are resolved once. Items are resolved through their block family and parent prefab, which
+ * are looked up once each. The ids are only valid for the current game.
+ */
+@RegisterSystem
+@Share(ItemTypeIds.class)
+public class ItemTypeIds extends BaseComponentSystem {
+    /**
+     * The id of items that are not block items, or not based on a prefab.
+     */
+    public static final int NONE = -1;
+
+    private final Map<String, Integer> idsByType = new HashMap<>();
+    private final Map<String, Integer> blockFamilyIdsByName = new HashMap<>();
+    private final Map<String, Integer> itemPrefabIdsByName = new HashMap<>();
+    private final Map<BlockFamily, Integer> blockFamilyIds = new HashMap<>();
+    private final Map<Prefab, Integer> itemPrefabIds = new HashMap<>();
+
+    @Override
+    public void shutdown() {
+        idsByType.clear();
+        blockFamilyIdsByName.clear();
+        itemPrefabIdsByName.clear();
+        blockFamilyIds.clear();
+        itemPrefabIds.clear();
+    }
+
+    /**
+     * @param blockFamilyUri a block family as used in {@link InventoryInputComponent#blockCounts}
+     */
+    public int forBlockFamily(String blockFamilyUri) {
+        Integer result = blockFamilyIdsByName.get(blockFamilyUri);
+        if (result == null) {
+            result = intern(InventoryItemTypes.forBlockFamily(blockFamilyUri));
+            blockFamilyIdsByName.put(blockFamilyUri, result);
+        }
+        return result;
+    }
+
+    /**
+     * @param prefabName an item prefab as used in {@link InventoryInputComponent#itemCounts}
+     */
+    public int forItemPrefab(String prefabName) {
+        Integer result = itemPrefabIdsByName.get(prefabName);
+        if (result == null) {
+            Optional<Prefab> prefab = Assets.getPrefab(prefabName);
+            if (!prefab.isPresent()) {
+                // may still be loaded, so don't remember the name
+                return intern(InventoryItemTypes.forItemPrefab(prefabName));
+            }
+            result = getItemPrefabId(prefab.get());
+            itemPrefabIdsByName.put(prefabName, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return whether the id of the item prefab is final, which it is not until the prefab can be found
+     */
+    public boolean isResolvedItemPrefab(String prefabName) {
+        return itemPrefabIdsByName.containsKey(prefabName);
+    }
+
+    /**
+     * @return the id of the block family of a block item, or {@link #NONE}
+     */
+    public int getBlockFamilyId(EntityRef item) {
+        BlockItemComponent blockItem = item.getComponent(BlockItemComponent.class);
+        if (blockItem == null || blockItem.blockFamily == null) {
+            return NONE;
+        }
+        Integer result = blockFamilyIds.get(blockItem.blockFamily);
+        if (result == null) {
+            result = intern(InventoryItemTypes.getBlockFamilyType(item));
+            blockFamilyIds.put(blockItem.blockFamily, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return the id of the prefab of an item, or {@link #NONE}
+     */
+    public int getItemPrefabId(EntityRef item) {
+        if (!item.hasComponent(ItemComponent.class)) {
+            return NONE;
+        }
+        Prefab prefab = item.getParentPrefab();
+        return prefab != null ? getItemPrefabId(prefab) : NONE;
+    }
+
+    private int getItemPrefabId(Prefab prefab) {
+        Integer result = itemPrefabIds.get(prefab);
+        if (result == null) {
+            result = intern(InventoryItemTypes.forItemPrefab(prefab.getUrn().toString()));
+            itemPrefabIds.put(prefab, result);
+        }
+        return result;
+    }
+
+    private int intern(String type) {
+        Integer result = idsByType.get(type);
+        if (result == null) {
+            result = idsByType.size();
+            idsByType.put(type, result);
+        }
+        return result;
+    }
+}
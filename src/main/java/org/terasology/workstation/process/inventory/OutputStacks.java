@@ -0,0 +1,125 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.process.inventory;
+
+import org.terasology.engine.entitySystem.entity.EntityBuilder;
+import org.terasology.engine.entitySystem.entity.EntityManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.logic.inventory.ItemComponent;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.engine.world.block.family.BlockFamily;
+import org.terasology.engine.world.block.items.BlockItemFactory;
+import org.terasology.module.inventory.systems.InventoryUtils;
+import org.terasology.workstation.process.WorkstationInventoryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The items created by an inventory output as stack ids, counts and maximum stack sizes, so that it can be checked whether they fit
+ * into the output slots of a workstation without creating the items.
+ * <p>
+ * Items of the same stack id are first added to the stacks of that id in the slots, and the rest is split into full stacks for the
+ * empty slots, the same way the items are given to the workstation.
+ */
+public final class OutputStacks {
+    private final String[] stackIds;
+    private final int[] counts;
+    private final int[] maxStackSizes;
+
+    private OutputStacks(List<String> stackIds, List<Integer> counts, List<Integer> maxStackSizes) {
+        this.stackIds = stackIds.toArray(new String[0]);
+        this.counts = new int[counts.size()];
+        this.maxStackSizes = new int[maxStackSizes.size()];
+        for (int i = 0; i < this.counts.length; i++) {
+            this.counts[i] = counts.get(i);
+            this.maxStackSizes[i] = maxStackSizes.get(i);
+        }
+    }
+
+    /**
+     * Reads the stack id and maximum stack size of each output from the item builders, the built items are never created.
+     *
+     * @return the stacks, or null if a block family is not known
+     */
+    public static OutputStacks compile(Map<String, Integer> blockCounts, Map<String, Integer> itemCounts,
+                                       EntityManager entityManager, BlockManager blockManager) {
+        List<String> stackIds = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+        List<Integer> maxStackSizes = new ArrayList<>();
+
+        BlockItemFactory itemFactory = new BlockItemFactory(entityManager);
+        for (Map.Entry<String, Integer> blockCount : blockCounts.entrySet()) {
+            BlockFamily blockFamily = blockManager.getBlockFamily(blockCount.getKey());
+            if (blockFamily == null) {
+                return null;
+            }
+            add(stackIds, counts, maxStackSizes, itemFactory.newBuilder(blockFamily, 1), blockCount.getValue());
+        }
+        for (Map.Entry<String, Integer> itemCount : itemCounts.entrySet()) {
+            add(stackIds, counts, maxStackSizes, entityManager.newBuilder(itemCount.getKey()), itemCount.getValue());
+        }
+        return new OutputStacks(stackIds, counts, maxStackSizes);
+    }
+
+    private static void add(List<String> stackIds, List<Integer> counts, List<Integer> maxStackSizes,
+                            EntityBuilder entityBuilder, int count) {
+        ItemComponent item = entityBuilder.getComponent(ItemComponent.class);
+        if (item == null) {
+            // no item is created for it
+            return;
+        }
+        String stackId = item.stackId != null ? item.stackId : "";
+        if (!stackId.isEmpty()) {
+            int index = stackIds.indexOf(stackId);
+            if (index >= 0) {
+                counts.set(index, counts.get(index) + count);
+                return;
+            }
+        }
+        stackIds.add(stackId);
+        counts.add(count);
+        // the same limit as used when creating the items
+        maxStackSizes.add(item.maxStackSize > 0 ? (int) item.maxStackSize : Byte.MAX_VALUE);
+    }
+
+    /**
+     * @return whether all the items fit into the slots of the category
+     */
+    public boolean fitInto(EntityRef workstation, String workstationInventoryCategory) {
+        List<Integer> slots = WorkstationInventoryUtils.getAssignedOutputSlots(workstation, workstationInventoryCategory);
+        int emptySlots = 0;
+        for (int slot : slots) {
+            if (!InventoryUtils.getItemAt(workstation, slot).exists()) {
+                emptySlots++;
+            }
+        }
+
+        int neededSlots = 0;
+        for (int i = 0; i < stackIds.length; i++) {
+            int remaining = counts[i];
+            if (!stackIds[i].isEmpty()) {
+                remaining -= getStackRoom(workstation, slots, stackIds[i]);
+            }
+            if (remaining > 0) {
+                neededSlots += (remaining + maxStackSizes[i] - 1) / maxStackSizes[i];
+                if (neededSlots > emptySlots) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static int getStackRoom(EntityRef workstation, List<Integer> slots, String stackId) {
+        int result = 0;
+        for (int slot : slots) {
+            ItemComponent item = InventoryUtils.getItemAt(workstation, slot).getComponent(ItemComponent.class);
+            if (item != null && stackId.equals(item.stackId)) {
+                result += Math.max(0, item.maxStackSize - item.stackCount);
+            }
+        }
+        return result;
+    }
+}
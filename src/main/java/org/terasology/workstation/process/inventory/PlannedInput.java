@@ -0,0 +1,51 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.process.inventory;
+
+import org.terasology.engine.entitySystem.entity.EntityRef;
+
+/**
+ * An amount of the item in a workstation slot that a process is going to consume if it starts. The item is the one in the slot, it
+ * must not be changed.
+ */
+public final class PlannedInput {
+    private final int slot;
+    private final EntityRef item;
+    private final int count;
+    private final int blockFamilyId;
+    private final int itemPrefabId;
+
+    public PlannedInput(int slot, EntityRef item, int count, int blockFamilyId, int itemPrefabId) {
+        this.slot = slot;
+        this.item = item;
+        this.count = count;
+        this.blockFamilyId = blockFamilyId;
+        this.itemPrefabId = itemPrefabId;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public EntityRef getItem() {
+        return item;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return the id of the block family of the item, or {@link ItemTypeIds#NONE}
+     */
+    public int getBlockFamilyId() {
+        return blockFamilyId;
+    }
+
+    /**
+     * @return the id of the prefab of the item, or {@link ItemTypeIds#NONE}
+     */
+    public int getItemPrefabId() {
+        return itemPrefabId;
+    }
+}
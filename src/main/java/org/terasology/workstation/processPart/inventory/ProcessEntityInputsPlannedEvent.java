@@ -0,0 +1,40 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.processPart.inventory;
+
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.event.AbstractConsumableEvent;
+import org.terasology.workstation.process.inventory.PlannedInput;
+
+import java.util.List;
+
+/**
+ * Sent to the process entity when the inventory input has selected the items a process will consume, while it is being validated to
+ * start. Consume this event if the process should not start with these items.
+ */
+public class ProcessEntityInputsPlannedEvent extends AbstractConsumableEvent {
+    EntityRef workstation;
+    EntityRef instigator;
+    List<PlannedInput> plannedInputs;
+
+    public ProcessEntityInputsPlannedEvent(EntityRef workstation, EntityRef instigator, List<PlannedInput> plannedInputs) {
+        this.workstation = workstation;
+        this.instigator = instigator;
+        this.plannedInputs = plannedInputs;
+    }
+
+    public EntityRef getWorkstation() {
+        return workstation;
+    }
+
+    public EntityRef getInstigator() {
+        return instigator;
+    }
+
+    /**
+     * @return the planned inputs, which can't be modified
+     */
+    public List<PlannedInput> getPlannedInputs() {
+        return plannedInputs;
+    }
+}
@@ -0,0 +1,94 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.system;
+
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.workstation.process.WorkstationInventoryFingerprints;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Remembers the automatic processes that could not be started on a workstation, along with a fingerprint of the slots the process
+ * reads at that time. Trying to start the process again is pointless until the fingerprint changes.
+ * <p>
+ * Workstations are keyed by entity id, as the hash code of an entity ref changes when it is destroyed.
+ * <p>
+ * Fingerprints are 64 bit hashes, so a change of the slots can in rare cases produce the fingerprint of the failed attempt again. The
+ * process is then wrongly treated as known to fail, but only until the next general check of the workstation: general checks, such as
+ * the periodic revival of idle automatic workstations, do not consult this cache and record the outcome with the current fingerprint.
+ */
+class FailedProcessStartCache {
+    private final TLongObjectMap<Map<String, Long>> failedStarts = new TLongObjectHashMap<>();
+    private long hits;
+    private long misses;
+
+    /**
+     * @return true if the process has failed to start on the workstation with the same fingerprint before
+     */
+    boolean isKnownFailure(EntityRef workstation, String processId, long fingerprint) {
+        Map<String, Long> failedProcesses = failedStarts.get(workstation.getId());
+        Long failedFingerprint = failedProcesses != null ? failedProcesses.get(processId) : null;
+        if (failedFingerprint != null && failedFingerprint == fingerprint) {
+            hits++;
+            return true;
+        }
+        misses++;
+        return false;
+    }
+
+    void recordFailure(EntityRef workstation, String processId, long fingerprint) {
+        long id = workstation.getId();
+        Map<String, Long> failedProcesses = failedStarts.get(id);
+        if (failedProcesses == null) {
+            failedProcesses = new HashMap<>();
+            failedStarts.put(id, failedProcesses);
+        }
+        failedProcesses.put(processId, fingerprint);
+    }
+
+    void recordSuccess(EntityRef workstation, String processId) {
+        Map<String, Long> failedProcesses = failedStarts.get(workstation.getId());
+        if (failedProcesses != null) {
+            failedProcesses.remove(processId);
+        }
+    }
+
+    void remove(EntityRef workstation) {
+        failedStarts.remove(workstation.getId());
+    }
+
+    void clear() {
+        failedStarts.clear();
+    }
+
+    int size() {
+        return failedStarts.size();
+    }
+
+    long getHits() {
+        return hits;
+    }
+
+    long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Combines the fingerprints of all the given categories.
+     */
+    static long fingerprint(WorkstationInventoryFingerprints fingerprints, EntityRef workstation,
+                            Set<String> itemCategories, Set<String> fluidCategories) {
+        long result = 17;
+        for (String category : itemCategories) {
+            result = 31 * result + fingerprints.getItemFingerprint(workstation, category);
+        }
+        for (String category : fluidCategories) {
+            result = 31 * result + fingerprints.getFluidFingerprint(workstation, category);
+        }
+        return result;
+    }
+}
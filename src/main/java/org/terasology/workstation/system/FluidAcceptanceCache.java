@@ -0,0 +1,120 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.system;
+
+import com.google.common.collect.ImmutableSet;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.workstation.process.fluid.ValidateFluidInventoryItem;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The fluids accepted in the fluid slots of workstations whose validating processes all decide the same way for the same fluid,
+ * slot categories and instigator, see {@link ValidateFluidInventoryItem#isValidationInstanceDependent()}.
+ * <p>
+ * Fluid types are interned to ids, and the fluids accepted in a slot are kept as a bit set of those ids for the process types of the
+ * workstation, the categories the slot is assigned to and whether the workstation is the instigator. A fluid is validated the first
+ * time it is put into such a slot. The bit sets are dropped when the processes change.
+ */
+class FluidAcceptanceCache {
+    private final Map<String, Integer> fluidIds = new HashMap<>();
+    private final Map<Set<String>, List<String>> categoriesByProcessTypes = new HashMap<>();
+    private final Map<SlotKey, SlotAcceptance> acceptanceBySlot = new HashMap<>();
+    private long registryVersion = -1;
+
+    /**
+     * @param processTypes the process types supported by the workstation, the processes of which have already been looked up
+     * @return the fluids accepted in the slot, or null if they can't be cached for the workstation
+     */
+    SlotAcceptance getSlotAcceptance(WorkstationRegistry workstationRegistry, Collection<String> processTypes, EntityRef workstation,
+                                     int slot, EntityRef instigator) {
+        if (registryVersion != workstationRegistry.getVersion()) {
+            categoriesByProcessTypes.clear();
+            acceptanceBySlot.clear();
+            registryVersion = workstationRegistry.getVersion();
+        }
+        List<String> categories;
+        if (categoriesByProcessTypes.containsKey(processTypes)) {
+            categories = categoriesByProcessTypes.get(processTypes);
+        } else {
+            Set<String> processTypeSet = ImmutableSet.copyOf(processTypes);
+            categories = SlotSignatures.getSignatureCategories(workstationRegistry.getWorkstationProcesses(processTypeSet), true);
+            categoriesByProcessTypes.put(processTypeSet, categories);
+        }
+        if (categories == null) {
+            return null;
+        }
+
+        SlotKey key = new SlotKey(categories, SlotSignatures.getSlotSignature(workstation, categories, slot), instigator.equals(workstation));
+        SlotAcceptance result = acceptanceBySlot.get(key);
+        if (result == null) {
+            result = new SlotAcceptance();
+            acceptanceBySlot.put(key, result);
+        }
+        return result;
+    }
+
+    int getFluidId(String fluidType) {
+        Integer result = fluidIds.get(fluidType);
+        if (result == null) {
+            result = fluidIds.size();
+            fluidIds.put(fluidType, result);
+        }
+        return result;
+    }
+
+    static final class SlotAcceptance {
+        private final BitSet validated = new BitSet();
+        private final BitSet accepted = new BitSet();
+
+        /**
+         * @return whether the fluid is accepted, or null if it has not been validated yet
+         */
+        Boolean isAccepted(int fluidId) {
+            return validated.get(fluidId) ? accepted.get(fluidId) : null;
+        }
+
+        void setAccepted(int fluidId, boolean isAccepted) {
+            validated.set(fluidId);
+            accepted.set(fluidId, isAccepted);
+        }
+    }
+
+    private static final class SlotKey {
+        // the categories stand for the process types, as they are shared by all keys of the same process types
+        private final List<String> categories;
+        private final long slotSignature;
+        private final boolean instigatorIsWorkstation;
+
+        private SlotKey(List<String> categories, long slotSignature, boolean instigatorIsWorkstation) {
+            this.categories = categories;
+            this.slotSignature = slotSignature;
+            this.instigatorIsWorkstation = instigatorIsWorkstation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            SlotKey that = (SlotKey) o;
+            return categories == that.categories
+                    && slotSignature == that.slotSignature
+                    && instigatorIsWorkstation == that.instigatorIsWorkstation;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(categories), slotSignature, instigatorIsWorkstation);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.system;
+
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps track of automatic workstations that are not processing anything, ordered by the time they should next be revived.
+ * <p>
+ * Workstations are keyed by entity id, as the hash code of an entity ref changes when it is destroyed. Removing a workstation only
+ * forgets it, its stale queue entry is skipped when it reaches the head of the queue.
+ */
+class IdleWorkstationTracker {
+    private final TLongObjectMap<Entry> entries = new TLongObjectHashMap<>();
+    private final Deque<Entry> revivalQueue = new ArrayDeque<>();
+
+    /**
+     * Revival times are expected to be (mostly) increasing between calls, the queue is kept in insertion order.
+     */
+    void add(EntityRef workstation, long revivalTime) {
+        long id = workstation.getId();
+        if (!entries.containsKey(id)) {
+            Entry entry = new Entry(id, workstation, revivalTime);
+            entries.put(id, entry);
+            revivalQueue.addLast(entry);
+        }
+    }
+
+    /**
+     * Adds a workstation ahead of the ones that are already waiting, for a revival time that is not later than theirs, such as the
+     * current time.
+     */
+    void addFirst(EntityRef workstation, long revivalTime) {
+        long id = workstation.getId();
+        if (!entries.containsKey(id)) {
+            Entry entry = new Entry(id, workstation, revivalTime);
+            entries.put(id, entry);
+            revivalQueue.addFirst(entry);
+        }
+    }
+
+    void remove(EntityRef workstation) {
+        entries.remove(workstation.getId());
+    }
+
+    /**
+     * Removes the workstations that are due to be revived, in the order they were added.
+     *
+     * @param maxCount the maximum number of workstations to remove, the others stay due for the next call
+     * @return the workstations, at most maxCount of them
+     */
+    List<EntityRef> pollDue(long currentTime, int maxCount) {
+        List<EntityRef> result = new ArrayList<>();
+        while (result.size() < maxCount && !revivalQueue.isEmpty() && revivalQueue.peekFirst().revivalTime <= currentTime) {
+            Entry entry = revivalQueue.pollFirst();
+            if (entries.get(entry.id) == entry) {
+                entries.remove(entry.id);
+                result.add(entry.workstation);
+            }
+        }
+        return result;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static final class Entry {
+        private final long id;
+        private final EntityRef workstation;
+        private final long revivalTime;
+
+        private Entry(long id, EntityRef workstation, long revivalTime) {
+            this.id = id;
+            this.workstation = workstation;
+            this.revivalTime = revivalTime;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.system;
+
+import com.google.common.collect.ImmutableSet;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.workstation.process.inventory.ItemTypeIds;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Remembers whether an item was accepted in a workstation slot, for workstations whose validating processes all decide the same way
+ * for the same item type, slot categories and instigator, see {@link ValidateInventoryItem#isValidationInstanceDependent()}.
+ * <p>
+ * A slot is described by the categories read by the processes that it is assigned to as input or output, so workstations with
+ * different slot layouts share entries where their slots are assigned alike. Everything is dropped when the processes change.
+ */
+class InventoryAcceptanceCache {
+    private static final int MAX_ENTRIES = 4096;
+
+    private final Map<Set<String>, List<String>> categoriesByProcessTypes = new HashMap<>();
+    private final Map<AcceptanceKey, Boolean> acceptance = new HashMap<>();
+    private long registryVersion = -1;
+
+    /**
+     * @param processTypes the process types supported by the workstation, the processes of which have already been looked up
+     * @return the key of the item in the slot, or null if the answer can't be cached for the workstation
+     */
+    AcceptanceKey createKey(WorkstationRegistry workstationRegistry, ItemTypeIds itemTypeIds, Collection<String> processTypes,
+                            EntityRef workstation, int slot, EntityRef instigator, EntityRef item) {
+        if (registryVersion != workstationRegistry.getVersion()) {
+            categoriesByProcessTypes.clear();
+            acceptance.clear();
+            registryVersion = workstationRegistry.getVersion();
+        }
+        List<String> categories;
+        if (categoriesByProcessTypes.containsKey(processTypes)) {
+            categories = categoriesByProcessTypes.get(processTypes);
+        } else {
+            Set<String> processTypeSet = ImmutableSet.copyOf(processTypes);
+            categories = SlotSignatures.getSignatureCategories(workstationRegistry.getWorkstationProcesses(processTypeSet), false);
+            categoriesByProcessTypes.put(processTypeSet, categories);
+        }
+        if (categories == null) {
+            return null;
+        }
+
+        long slotSignature = SlotSignatures.getSlotSignature(workstation, categories, slot);
+        return new AcceptanceKey(categories, slotSignature, itemTypeIds.getBlockFamilyId(item), itemTypeIds.getItemPrefabId(item),
+                instigator.equals(workstation));
+    }
+
+    /**
+     * @return whether the item was accepted, or null if it is not known
+     */
+    Boolean get(AcceptanceKey key) {
+        return acceptance.get(key);
+    }
+
+    void put(AcceptanceKey key, boolean accepted) {
+        if (acceptance.size() >= MAX_ENTRIES) {
+            acceptance.clear();
+        }
+        acceptance.put(key, accepted);
+    }
+
+    static final class AcceptanceKey {
+        // the categories stand for the process types, as they are shared by all keys of the same process types
+        private final List<String> categories;
+        private final long slotSignature;
+        private final int blockFamilyId;
+        private final int itemPrefabId;
+        private final boolean instigatorIsWorkstation;
+
+        private AcceptanceKey(List<String> categories, long slotSignature, int blockFamilyId, int itemPrefabId,
+                              boolean instigatorIsWorkstation) {
+            this.categories = categories;
+            this.slotSignature = slotSignature;
+            this.blockFamilyId = blockFamilyId;
+            this.itemPrefabId = itemPrefabId;
+            this.instigatorIsWorkstation = instigatorIsWorkstation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            AcceptanceKey that = (AcceptanceKey) o;
+            return categories == that.categories
+                    && slotSignature == that.slotSignature
+                    && instigatorIsWorkstation == that.instigatorIsWorkstation
+                    && blockFamilyId == that.blockFamilyId
+                    && itemPrefabId == that.itemPrefabId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(categories), slotSignature, blockFamilyId, itemPrefabId,
+                    instigatorIsWorkstation);
+        }
+    }
+}
@@ -2,32 +2,149 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.workstation.system;
 
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
 import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
 import org.terasology.engine.entitySystem.entity.lifecycleEvents.OnChangedComponent;
 import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
 import org.terasology.engine.entitySystem.systems.RegisterMode;
 import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.engine.registry.Share;
 import org.terasology.fluid.component.FluidInventoryComponent;
 import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
+import org.terasology.module.inventory.components.InventoryAccessComponent;
 import org.terasology.module.inventory.events.InventorySlotChangedEvent;
 import org.terasology.module.inventory.events.InventorySlotStackSizeChangedEvent;
 import org.terasology.workstation.component.WorkstationComponent;
+import org.terasology.workstation.component.WorkstationInventoryComponent;
 import org.terasology.workstation.event.WorkstationStateChanged;
+import org.terasology.workstation.process.WorkstationInventoryFingerprints;
 
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Collects the inventory and fluid changes of workstations and sends a single {@link WorkstationStateChanged} per workstation
+ * once per tick, so that moving many stacks at once only triggers one evaluation of the automatic processes.
+ * <p>
+ * The same changes keep the inventory fingerprints of the workstations up to date.
+ */
 @RegisterSystem(RegisterMode.AUTHORITY)
-public class InventoryBasedAutomaticProcessingSystem extends BaseComponentSystem {
+@Share(WorkstationInventoryFingerprints.class)
+public class InventoryBasedAutomaticProcessingSystem extends BaseComponentSystem implements UpdateSubscriberSystem,
+        WorkstationInventoryFingerprints {
+    // Keyed by entity id, as PojoEntityRef's hashcode changes when it is being destroyed.
+    private TLongObjectMap<PendingChange> pendingChanges = new TLongObjectHashMap<>();
+    private TLongObjectMap<PendingChange> flushedChanges = new TLongObjectHashMap<>();
+    private TLongObjectMap<WorkstationInventoryFingerprintState> fingerprints = new TLongObjectHashMap<>();
+
     @ReceiveEvent
     public void newItemInWorkstation(InventorySlotChangedEvent event, EntityRef workstation, WorkstationComponent workstationComponent) {
-        workstation.send(new WorkstationStateChanged());
+        getPendingChange(workstation).changedSlots.add(event.getSlot());
+        WorkstationInventoryFingerprintState fingerprint = fingerprints.get(workstation.getId());
+        if (fingerprint != null) {
+            fingerprint.slotChanged(event.getSlot());
+        }
     }
 
     @ReceiveEvent
     public void itemCountChangedInWorkstation(InventorySlotStackSizeChangedEvent event, EntityRef workstation, WorkstationComponent workstationComponent) {
-        workstation.send(new WorkstationStateChanged());
+        getPendingChange(workstation).changedSlots.add(event.getSlot());
+        WorkstationInventoryFingerprintState fingerprint = fingerprints.get(workstation.getId());
+        if (fingerprint != null) {
+            fingerprint.slotChanged(event.getSlot());
+        }
     }
 
     @ReceiveEvent
     public void fluidInventoryChangedInWorkstation(OnChangedComponent event, EntityRef workstation, WorkstationComponent workstationComponent, FluidInventoryComponent fluidInventoryComponent) {
-        workstation.send(new WorkstationStateChanged());
+        getPendingChange(workstation).fluidsChanged = true;
+        WorkstationInventoryFingerprintState fingerprint = fingerprints.get(workstation.getId());
+        if (fingerprint != null) {
+            fingerprint.fluidsChanged();
+        }
+    }
+
+    @ReceiveEvent(components = WorkstationComponent.class)
+    public void inventoryAccessChanged(OnChangedComponent event, EntityRef workstation, InventoryAccessComponent inventoryAccess) {
+        slotAssignmentsChanged(workstation);
+    }
+
+    @ReceiveEvent(components = WorkstationComponent.class)
+    public void workstationInventoryChanged(OnChangedComponent event, EntityRef workstation, WorkstationInventoryComponent workstationInventory) {
+        slotAssignmentsChanged(workstation);
+    }
+
+    @ReceiveEvent
+    public void workstationDeactivated(BeforeDeactivateComponent event, EntityRef workstation, WorkstationComponent workstationComponent) {
+        fingerprints.remove(workstation.getId());
+    }
+
+    @Override
+    public long getItemFingerprint(EntityRef workstation, String category) {
+        return getFingerprintState(workstation).getItemFingerprint(category);
+    }
+
+    @Override
+    public long getFluidFingerprint(EntityRef workstation, String category) {
+        return getFingerprintState(workstation).getFluidFingerprint(category);
+    }
+
+    private WorkstationInventoryFingerprintState getFingerprintState(EntityRef workstation) {
+        long id = workstation.getId();
+        WorkstationInventoryFingerprintState fingerprint = fingerprints.get(id);
+        if (fingerprint == null) {
+            fingerprint = new WorkstationInventoryFingerprintState(workstation);
+            fingerprints.put(id, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    private void slotAssignmentsChanged(EntityRef workstation) {
+        WorkstationInventoryFingerprintState fingerprint = fingerprints.get(workstation.getId());
+        if (fingerprint != null) {
+            fingerprint.slotAssignmentsChanged();
+        }
+    }
+
+    @Override
+    public void update(float delta) {
+        if (pendingChanges.isEmpty()) {
+            return;
+        }
+
+        // swap the maps, as sending the events might cause further changes that have to wait for the next tick
+        TLongObjectMap<PendingChange> changes = pendingChanges;
+        pendingChanges = flushedChanges;
+        flushedChanges = changes;
+
+        for (PendingChange change : changes.valueCollection()) {
+            if (change.workstation.exists()) {
+                change.workstation.send(new WorkstationStateChanged(change.changedSlots, change.fluidsChanged));
+            }
+        }
+        changes.clear();
+    }
+
+    private PendingChange getPendingChange(EntityRef workstation) {
+        long id = workstation.getId();
+        PendingChange change = pendingChanges.get(id);
+        if (change == null) {
+            change = new PendingChange(workstation);
+            pendingChanges.put(id, change);
+        }
+        return change;
+    }
+
+    private static final class PendingChange {
+        private final EntityRef workstation;
+        private final Set<Integer> changedSlots = new HashSet<>();
+        private boolean fluidsChanged;
+
+        private PendingChange(EntityRef workstation) {
+            this.workstation = workstation;
+        }
     }
 }
@@ -0,0 +1,53 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.system;
+
+import org.terasology.engine.entitySystem.entity.EntityRef;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A workstation waiting to be checked for automatic processes, along with what has changed since it was queued.
+ */
+class PendingWorkstationCheck {
+    private final EntityRef workstation;
+    private Set<Integer> changedSlots = new HashSet<>();
+    private boolean fluidsChanged;
+    private boolean general;
+
+    PendingWorkstationCheck(EntityRef workstation) {
+        this.workstation = workstation;
+    }
+
+    EntityRef getWorkstation() {
+        return workstation;
+    }
+
+    /**
+     * @return true if anything about the workstation might have changed, in which case all processes have to be checked
+     */
+    boolean isGeneral() {
+        return general;
+    }
+
+    Set<Integer> getChangedSlots() {
+        return changedSlots;
+    }
+
+    boolean isFluidsChanged() {
+        return fluidsChanged;
+    }
+
+    void addGeneralChange() {
+        general = true;
+        changedSlots.clear();
+    }
+
+    void addChange(Set<Integer> slots, boolean fluids) {
+        if (!general) {
+            changedSlots.addAll(slots);
+            fluidsChanged |= fluids;
+        }
+    }
+}
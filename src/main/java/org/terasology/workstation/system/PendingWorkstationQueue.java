@@ -0,0 +1,84 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.system;
+
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+
+import java.util.Set;
+
+/**
+ * Insertion ordered queue of workstations that holds every workstation at most once. Changes reported for a workstation that is
+ * already queued are merged into its pending check.
+ * <p>
+ * Workstations are keyed by their entity id captured when queued, as an entity ref's id and hash code change when it is destroyed.
+ * The ids are kept in a ring buffer, the pending checks in a map keyed by the same id.
+ */
+class PendingWorkstationQueue {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final TLongObjectMap<PendingWorkstationCheck> pending = new TLongObjectHashMap<>();
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int head;
+    private int size;
+
+    /**
+     * Queues a check of all processes of the workstation.
+     */
+    void add(EntityRef workstation) {
+        getOrQueue(workstation).addGeneralChange();
+    }
+
+    /**
+     * Queues a check of the processes of the workstation that are affected by the given changes.
+     */
+    void add(EntityRef workstation, Set<Integer> changedSlots, boolean fluidsChanged) {
+        getOrQueue(workstation).addChange(changedSlots, fluidsChanged);
+    }
+
+    /**
+     * @return the first queued check or null if the queue is empty
+     */
+    PendingWorkstationCheck poll() {
+        if (size == 0) {
+            return null;
+        }
+        long id = ids[head];
+        head = (head + 1) & (ids.length - 1);
+        size--;
+        return pending.remove(id);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private PendingWorkstationCheck getOrQueue(EntityRef workstation) {
+        long id = workstation.getId();
+        PendingWorkstationCheck check = pending.get(id);
+        if (check == null) {
+            check = new PendingWorkstationCheck(workstation);
+            pending.put(id, check);
+            if (size == ids.length) {
+                grow();
+            }
+            ids[(head + size) & (ids.length - 1)] = id;
+            size++;
+        }
+        return check;
+    }
+
+    private void grow() {
+        long[] newIds = new long[ids.length * 2];
+        for (int i = 0; i < size; i++) {
+            newIds[i] = ids[(head + i) & (ids.length - 1)];
+        }
+        ids = newIds;
+        head = 0;
+    }
+}
@@ -2,20 +2,45 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.workstation.system;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import org.terasology.engine.entitySystem.entity.EntityBuilder;
 import org.terasology.engine.entitySystem.entity.EntityManager;
 import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.metadata.ComponentLibrary;
 import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.engine.logic.common.DisplayNameComponent;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.fluid.system.FluidRegistry;
+import org.terasology.gestalt.entitysystem.component.Component;
 import org.terasology.workstation.component.ProcessDefinitionComponent;
+import org.terasology.workstation.component.ProcessTypeDescriptionComponent;
+import org.terasology.workstation.component.WorkstationComponent;
 import org.terasology.workstation.event.WorkstationProcessRequest;
+import org.terasology.workstation.process.DeclareInputTypes;
+import org.terasology.workstation.process.DeclareOutputTypes;
+import org.terasology.workstation.process.DeclareSlotCategories;
 import org.terasology.workstation.process.DescribeProcess;
 import org.terasology.workstation.process.InvalidProcessException;
 import org.terasology.workstation.process.InvalidProcessPartException;
 import org.terasology.workstation.process.ProcessPartDescription;
 import org.terasology.workstation.process.ValidateProcess;
 import org.terasology.workstation.process.WorkstationProcess;
+import org.terasology.workstation.process.fluid.FillFluidInventoryPart;
+import org.terasology.workstation.process.fluid.FillFluidInventoryPartProcessPartCommonSystem;
+import org.terasology.workstation.process.fluid.FluidInputComponent;
+import org.terasology.workstation.process.fluid.FluidInputProcessPartCommonSystem;
+import org.terasology.workstation.process.fluid.FluidInputProcessPartSlotAmountsComponent;
+import org.terasology.workstation.process.fluid.FluidOutputComponent;
+import org.terasology.workstation.process.fluid.FluidOutputProcessPartCommonSystem;
 import org.terasology.workstation.process.fluid.ValidateFluidInventoryItem;
+import org.terasology.workstation.process.inventory.InventoryInputComponent;
+import org.terasology.workstation.process.inventory.InventoryInputProcessPartCommonSystem;
+import org.terasology.workstation.process.inventory.InventoryInputProcessPartSlotAmountsComponent;
+import org.terasology.workstation.process.inventory.InventoryItemTypes;
+import org.terasology.workstation.process.inventory.ItemTypeIds;
+import org.terasology.workstation.process.inventory.InventoryOutputComponent;
+import org.terasology.workstation.process.inventory.InventoryOutputProcessPartCommonSystem;
 import org.terasology.workstation.processPart.ProcessEntityFinishExecutionEvent;
 import org.terasology.workstation.processPart.ProcessEntityGetDurationEvent;
 import org.terasology.workstation.processPart.ProcessEntityIsInvalidEvent;
@@ -26,33 +51,76 @@ import org.terasology.workstation.processPart.inventory.ProcessEntityIsInvalidFo
 import org.terasology.workstation.processPart.metadata.ProcessEntityGetInputDescriptionEvent;
 import org.terasology.workstation.processPart.metadata.ProcessEntityGetOutputDescriptionEvent;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Order of events for the most simple processing path: - ProcessEntityIsInvalidEvent (this happens once when loaded) -
  */
 public class ProcessPartWorkstationProcess implements WorkstationProcess, ValidateInventoryItem,
-        ValidateFluidInventoryItem, DescribeProcess, ValidateProcess {
+        ValidateFluidInventoryItem, DescribeProcess, ValidateProcess, DeclareSlotCategories,
+        DeclareInputTypes, DeclareOutputTypes {
+    // Components that can be part of a process prefab without reading anything from the workstation
+    private static final Set<Class<? extends Component>> DESCRIPTIVE_COMPONENTS = ImmutableSet.of(
+            ProcessDefinitionComponent.class, ProcessTypeDescriptionComponent.class, DisplayNameComponent.class);
+    // Validation is not re-entrant in practice, a few spare entities cover nested checks
+    private static final int MAX_POOLED_ENTITIES = 4;
+
     private String id;
     private ProcessDefinitionComponent processDefinitionComponent;
     private String processTypeName;
     private Prefab prefab;
+    private Set<String> itemSlotCategories;
+    private Set<String> fluidSlotCategories;
+    private Set<String> inputTypes;
+    private Set<String> outputTypes;
+    private boolean batchable;
+
+    // Used instead of the process part events if all of the process parts are built in
+    private RecipePlan recipePlan;
 
     private EntityManager entityManager;
+    private BlockManager blockManager;
+    private FluidRegistry fluidRegistry;
+
+    // Non-persistent process entities the validation and description events are sent to
+    private final Deque<EntityRef> temporaryEntityPool = new ArrayDeque<>();
+    // Components the entity manager adds to every entity, which are not part of the prefab
+    private Set<Class<? extends Component>> entityManagerComponents;
+    private long temporaryEntitiesCreated;
+    private long temporaryEntitiesReused;
 
-    ProcessPartWorkstationProcess(Prefab prefab, EntityManager entityManager) throws InvalidProcessPartException {
+    ProcessPartWorkstationProcess(Prefab prefab, EntityManager entityManager, BlockManager blockManager, FluidRegistry fluidRegistry,
+                                  ItemTypeIds itemTypeIds) throws InvalidProcessPartException {
         this.entityManager = entityManager;
+        this.blockManager = blockManager;
+        this.fluidRegistry = fluidRegistry;
         this.prefab = prefab;
         id = "Prefab:" + prefab.getUrn().toString();
         processDefinitionComponent = prefab.getComponent(ProcessDefinitionComponent.class);
         processTypeName = prefab.getUrn().toString();
+        determineSlotCategories();
+        determineInputTypes();
+        determineOutputTypes();
+        recipePlan = RecipePlan.compile(prefab, itemTypeIds);
+        // fluid containers are filled one at a time
+        batchable = (itemSlotCategories != null || processDefinitionComponent.batchable)
+                && !prefab.hasComponent(FillFluidInventoryPart.class);
 
-        EntityRef tempProcessEntity = createProcessEntity(false);
+        EntityRef tempProcessEntity = borrowTemporaryEntity();
         ProcessEntityIsInvalidEvent processEntityIsInvalidEvent = new ProcessEntityIsInvalidEvent();
         tempProcessEntity.send(processEntityIsInvalidEvent);
-        tempProcessEntity.destroy();
+        returnTemporaryEntity(tempProcessEntity);
+        // most processes are never used, or don't need an entity thanks to their recipe plan, so the pool is filled on first use
+        destroyTemporaryEntities();
 
         if (processEntityIsInvalidEvent.hasErrors()) {
             throw new InvalidProcessPartException(String.join(System.lineSeparator(),
@@ -60,6 +128,138 @@ public class ProcessPartWorkstationProcess implements WorkstationProcess, Valida
         }
     }
 
+    /**
+     * Checks the parts of a process prefab for errors that can be found without creating a process entity. This only reads the
+     * prefab, so it can be called from any thread.
+     *
+     * @return a description of the first error found, or null if there is none
+     */
+    static String findPrefabDataError(Prefab prefab) {
+        ProcessDefinitionComponent processDefinition = prefab.getComponent(ProcessDefinitionComponent.class);
+        if (processDefinition == null || processDefinition.processType == null) {
+            return "No process type specified";
+        }
+        InventoryInputComponent inventoryInput = prefab.getComponent(InventoryInputComponent.class);
+        if (inventoryInput != null && inventoryInput.blockCounts.isEmpty() && inventoryInput.itemCounts.isEmpty()) {
+            return "No input items specified";
+        }
+        InventoryOutputComponent inventoryOutput = prefab.getComponent(InventoryOutputComponent.class);
+        if (inventoryOutput != null && inventoryOutput.blockCounts.isEmpty() && inventoryOutput.itemCounts.isEmpty()) {
+            return "No output items specified";
+        }
+        FluidInputComponent fluidInput = prefab.getComponent(FluidInputComponent.class);
+        if (fluidInput != null && fluidInput.fluidVolumes.isEmpty()) {
+            return "No input fluids specified";
+        }
+        FluidOutputComponent fluidOutput = prefab.getComponent(FluidOutputComponent.class);
+        if (fluidOutput != null && fluidOutput.fluidVolumes.isEmpty()) {
+            return "No output fluids specified";
+        }
+        return null;
+    }
+
+    /**
+     * Determines the slot categories read by the process parts, which is only possible if all of them are known.
+     */
+    private void determineSlotCategories() {
+        Set<String> itemCategories = new HashSet<>();
+        Set<String> fluidCategories = new HashSet<>();
+        for (Component component : prefab.iterateComponents()) {
+            if (component instanceof InventoryInputComponent) {
+                itemCategories.add(InventoryInputProcessPartCommonSystem.WORKSTATIONINPUTCATEGORY);
+            } else if (component instanceof InventoryOutputComponent) {
+                itemCategories.add(InventoryOutputProcessPartCommonSystem.WORKSTATIONOUTPUTCATEGORY);
+            } else if (component instanceof FluidInputComponent) {
+                fluidCategories.add(FluidInputProcessPartCommonSystem.FLUIDINPUTCATEGORY);
+            } else if (component instanceof FluidOutputComponent) {
+                fluidCategories.add(FluidOutputProcessPartCommonSystem.FLUIDOUTPUTCATEGORY);
+            } else if (component instanceof FillFluidInventoryPart) {
+                itemCategories.add(FillFluidInventoryPartProcessPartCommonSystem.FLUIDCONTAINERINPUTCATEGORY);
+                itemCategories.add(FillFluidInventoryPartProcessPartCommonSystem.FLUIDCONTAINEROUTPUTCATEGORY);
+                fluidCategories.add(FillFluidInventoryPartProcessPartCommonSystem.FLUIDINVENTORYINPUTCATEGORY);
+            } else if (!DESCRIPTIVE_COMPONENTS.contains(component.getClass())) {
+                // a process part from another module, it could read anything
+                return;
+            }
+        }
+        itemSlotCategories = ImmutableSet.copyOf(itemCategories);
+        fluidSlotCategories = ImmutableSet.copyOf(fluidCategories);
+    }
+
+    /**
+     * Determines the types consumed by the process parts. Fluid containers are filled regardless of their type, so a process filling
+     * them can't declare its inputs.
+     */
+    private void determineInputTypes() {
+        if (itemSlotCategories == null || prefab.hasComponent(FillFluidInventoryPart.class)) {
+            return;
+        }
+        Set<String> types = new HashSet<>();
+        InventoryInputComponent inventoryInput = prefab.getComponent(InventoryInputComponent.class);
+        if (inventoryInput != null) {
+            for (String blockFamily : inventoryInput.blockCounts.keySet()) {
+                types.add(InventoryItemTypes.forBlockFamily(blockFamily));
+            }
+            for (String itemPrefab : inventoryInput.itemCounts.keySet()) {
+                types.add(InventoryItemTypes.forItemPrefab(itemPrefab));
+            }
+        }
+        FluidInputComponent fluidInput = prefab.getComponent(FluidInputComponent.class);
+        if (fluidInput != null) {
+            for (String fluid : fluidInput.fluidVolumes.keySet()) {
+                types.add(InventoryItemTypes.forFluid(fluid));
+            }
+        }
+        inputTypes = ImmutableSet.copyOf(types);
+    }
+
+    /**
+     * Determines the types produced by the process parts. A process filling fluid containers outputs whatever containers it was
+     * given, so it can't declare its outputs.
+     */
+    private void determineOutputTypes() {
+        if (itemSlotCategories == null || prefab.hasComponent(FillFluidInventoryPart.class)) {
+            return;
+        }
+        Set<String> types = new HashSet<>();
+        InventoryOutputComponent inventoryOutput = prefab.getComponent(InventoryOutputComponent.class);
+        if (inventoryOutput != null) {
+            for (String blockFamily : inventoryOutput.blockCounts.keySet()) {
+                types.add(InventoryItemTypes.forBlockFamily(blockFamily));
+            }
+            for (String itemPrefab : inventoryOutput.itemCounts.keySet()) {
+                types.add(InventoryItemTypes.forItemPrefab(itemPrefab));
+            }
+        }
+        FluidOutputComponent fluidOutput = prefab.getComponent(FluidOutputComponent.class);
+        if (fluidOutput != null) {
+            for (String fluid : fluidOutput.fluidVolumes.keySet()) {
+                types.add(InventoryItemTypes.forFluid(fluid));
+            }
+        }
+        outputTypes = ImmutableSet.copyOf(types);
+    }
+
+    @Override
+    public Set<String> getInputTypes() {
+        return inputTypes;
+    }
+
+    @Override
+    public Set<String> getOutputTypes() {
+        return outputTypes;
+    }
+
+    @Override
+    public Set<String> getItemSlotCategories() {
+        return itemSlotCategories;
+    }
+
+    @Override
+    public Set<String> getFluidSlotCategories() {
+        return fluidSlotCategories;
+    }
+
     @Override
     public EntityRef createProcessEntity() {
         return createProcessEntity(true);
@@ -71,32 +271,119 @@ public class ProcessPartWorkstationProcess implements WorkstationProcess, Valida
         return builder.build();
     }
 
+    /**
+     * Takes a temporary process entity from the pool, or creates one if the pool is empty.
+     */
+    private EntityRef borrowTemporaryEntity() {
+        while (!temporaryEntityPool.isEmpty()) {
+            EntityRef entity = temporaryEntityPool.pop();
+            // non-persistent entities don't survive the entity manager being cleared
+            if (entity.exists()) {
+                temporaryEntitiesReused++;
+                return entity;
+            }
+        }
+        EntityRef entity = createProcessEntity(false);
+        temporaryEntitiesCreated++;
+        if (entityManagerComponents == null) {
+            entityManagerComponents = new HashSet<>();
+            for (Component component : entity.iterateComponents()) {
+                if (!prefab.hasComponent(component.getClass())) {
+                    entityManagerComponents.add(component.getClass());
+                }
+            }
+        }
+        return entity;
+    }
+
+    /**
+     * Puts a temporary process entity back into the pool, reset to the current components of the prefab: the components the process
+     * parts added are removed, and those of the prefab are replaced by fresh copies, as process parts may have changed or removed them.
+     */
+    private void returnTemporaryEntity(EntityRef entity) {
+        if (!entity.exists()) {
+            return;
+        }
+        if (temporaryEntityPool.size() >= MAX_POOLED_ENTITIES) {
+            entity.destroy();
+            return;
+        }
+        Set<Class<? extends Component>> keptComponents = new HashSet<>(entityManagerComponents);
+        for (Component component : prefab.iterateComponents()) {
+            keptComponents.add(component.getClass());
+        }
+        List<Class<? extends Component>> addedComponents = new ArrayList<>();
+        for (Component component : entity.iterateComponents()) {
+            if (!keptComponents.contains(component.getClass())) {
+                addedComponents.add(component.getClass());
+            }
+        }
+        for (Class<? extends Component> componentClass : addedComponents) {
+            entity.removeComponent(componentClass);
+        }
+        ComponentLibrary componentLibrary = entityManager.getComponentLibrary();
+        for (Component component : prefab.iterateComponents()) {
+            entity.addOrSaveComponent(componentLibrary.copy(component));
+        }
+        temporaryEntityPool.push(entity);
+    }
+
+    /**
+     * Destroys the pooled temporary entities, called when the process is no longer used.
+     */
+    void destroyTemporaryEntities() {
+        for (EntityRef entity : temporaryEntityPool) {
+            entity.destroy();
+        }
+        temporaryEntityPool.clear();
+    }
+
+    long getTemporaryEntitiesCreated() {
+        return temporaryEntitiesCreated;
+    }
+
+    long getTemporaryEntitiesReused() {
+        return temporaryEntitiesReused;
+    }
+
     @Override
     public boolean isValid(EntityRef workstation, int slotNo, EntityRef instigator, EntityRef item) {
+        if (recipePlan != null) {
+            return recipePlan.isValid(workstation, slotNo, instigator, item);
+        }
         ProcessEntityIsInvalidForInventoryItemEvent event =
                 new ProcessEntityIsInvalidForInventoryItemEvent(workstation, slotNo, instigator, item);
-        EntityRef tempProcessEntity = createProcessEntity(false);
+        EntityRef tempProcessEntity = borrowTemporaryEntity();
         tempProcessEntity.send(event);
-        tempProcessEntity.destroy();
+        returnTemporaryEntity(tempProcessEntity);
         return !event.isConsumed();
     }
 
+    @Override
+    public boolean isValidationInstanceDependent() {
+        // the event handlers of the process parts could read anything
+        return recipePlan == null;
+    }
+
     @Override
     public boolean isValid(EntityRef instigator, EntityRef workstation) {
         ProcessEntityIsInvalidToStartEvent event = new ProcessEntityIsInvalidToStartEvent(instigator, workstation);
-        EntityRef tempProcessEntity = createProcessEntity(false);
+        EntityRef tempProcessEntity = borrowTemporaryEntity();
         tempProcessEntity.send(event);
-        tempProcessEntity.destroy();
+        returnTemporaryEntity(tempProcessEntity);
         return !event.isConsumed();
     }
 
     @Override
     public boolean isValidFluid(EntityRef workstation, int slotNo, EntityRef instigator, String fluidType) {
+        if (recipePlan != null) {
+            return recipePlan.isValidFluid(workstation, slotNo, instigator, fluidType);
+        }
         ProcessEntityIsInvalidForFluidEvent event = new ProcessEntityIsInvalidForFluidEvent(workstation, slotNo,
                 instigator, fluidType);
-        EntityRef tempProcessEntity = createProcessEntity(false);
+        EntityRef tempProcessEntity = borrowTemporaryEntity();
         tempProcessEntity.send(event);
-        tempProcessEntity.destroy();
+        returnTemporaryEntity(tempProcessEntity);
         return !event.isConsumed();
     }
 
@@ -118,21 +405,35 @@ public class ProcessPartWorkstationProcess implements WorkstationProcess, Valida
     @Override
     public long startProcessingManual(EntityRef instigator, EntityRef workstation, WorkstationProcessRequest
             request, EntityRef processEntity) throws InvalidProcessException {
-        return startProcessing(instigator, workstation, processEntity);
+        return startProcessing(instigator, workstation, processEntity, request.getRepeatCount(), false);
     }
 
     @Override
     public long startProcessingAutomatic(EntityRef workstation, EntityRef processEntity) throws
             InvalidProcessException {
-        return startProcessing(workstation, workstation, processEntity);
+        WorkstationComponent workstationComponent = workstation.getComponent(WorkstationComponent.class);
+        int maxBatch = workstationComponent != null ? workstationComponent.maxAutomaticBatch : 1;
+        return startProcessing(workstation, workstation, processEntity, maxBatch, true);
     }
 
-    private long startProcessing(EntityRef instigator, EntityRef workstation, EntityRef processEntity) throws InvalidProcessException {
+    /**
+     * @param repeatCount       how many times to run the process at once, if it can run in batches
+     * @param allowSmallerBatch whether to fall back to smaller batches if there is not enough for the full one
+     */
+    private long startProcessing(EntityRef instigator, EntityRef workstation, EntityRef processEntity, int repeatCount,
+                                 boolean allowSmallerBatch) throws InvalidProcessException {
+        int batchSize = batchable ? Math.max(1, repeatCount) : 1;
+        if (batchSize > 1) {
+            scaleProcessEntity(processEntity, batchSize);
+        }
+
         // Is the process entity valid to execute?
-        ProcessEntityIsInvalidToStartEvent event = new ProcessEntityIsInvalidToStartEvent(instigator, workstation);
-        processEntity.send(event);
-        if (event.isConsumed()) {
-            throw new InvalidProcessException();
+        while (!isValidToStart(instigator, workstation, processEntity)) {
+            if (!allowSmallerBatch || batchSize == 1) {
+                throw new InvalidProcessException();
+            }
+            batchSize /= 2;
+            scaleProcessEntity(processEntity, batchSize);
         }
 
         // Execute the process!
@@ -144,7 +445,65 @@ public class ProcessPartWorkstationProcess implements WorkstationProcess, Valida
         ProcessEntityGetDurationEvent durationEvent = new ProcessEntityGetDurationEvent(0f, workstation, instigator);
         processEntity.send(durationEvent);
 
-        return (long) (durationEvent.getResultValue() * 1000f);
+        return (long) (durationEvent.getResultValue() * 1000f) * batchSize;
+    }
+
+    private boolean isValidToStart(EntityRef instigator, EntityRef workstation, EntityRef processEntity) {
+        ProcessEntityIsInvalidToStartEvent event = new ProcessEntityIsInvalidToStartEvent(instigator, workstation);
+        processEntity.send(event);
+        return !event.isConsumed();
+    }
+
+    /**
+     * Replaces the inputs and outputs on the process entity with those of the prefab multiplied by the batch size.
+     */
+    private void scaleProcessEntity(EntityRef processEntity, int batchSize) {
+        InventoryInputComponent inventoryInput = prefab.getComponent(InventoryInputComponent.class);
+        if (inventoryInput != null) {
+            InventoryInputComponent scaledInput = new InventoryInputComponent();
+            scaledInput.blockCounts = scaleCounts(inventoryInput.blockCounts, batchSize);
+            scaledInput.itemCounts = scaleCounts(inventoryInput.itemCounts, batchSize);
+            processEntity.addOrSaveComponent(scaledInput);
+        }
+        InventoryOutputComponent inventoryOutput = prefab.getComponent(InventoryOutputComponent.class);
+        if (inventoryOutput != null) {
+            InventoryOutputComponent scaledOutput = new InventoryOutputComponent();
+            scaledOutput.blockCounts = scaleCounts(inventoryOutput.blockCounts, batchSize);
+            scaledOutput.itemCounts = scaleCounts(inventoryOutput.itemCounts, batchSize);
+            processEntity.addOrSaveComponent(scaledOutput);
+        }
+        FluidInputComponent fluidInput = prefab.getComponent(FluidInputComponent.class);
+        if (fluidInput != null) {
+            FluidInputComponent scaledInput = new FluidInputComponent();
+            scaledInput.fluidVolumes = scaleVolumes(fluidInput.fluidVolumes, batchSize);
+            processEntity.addOrSaveComponent(scaledInput);
+        }
+        FluidOutputComponent fluidOutput = prefab.getComponent(FluidOutputComponent.class);
+        if (fluidOutput != null) {
+            FluidOutputComponent scaledOutput = new FluidOutputComponent();
+            scaledOutput.fluidVolumes = scaleVolumes(fluidOutput.fluidVolumes, batchSize);
+            processEntity.addOrSaveComponent(scaledOutput);
+        }
+
+        // left behind by the validation of a larger batch
+        processEntity.removeComponent(InventoryInputProcessPartSlotAmountsComponent.class);
+        processEntity.removeComponent(FluidInputProcessPartSlotAmountsComponent.class);
+    }
+
+    private static Map<String, Integer> scaleCounts(Map<String, Integer> counts, int batchSize) {
+        Map<String, Integer> result = new HashMap<>();
+        for (Map.Entry<String, Integer> count : counts.entrySet()) {
+            result.put(count.getKey(), count.getValue() * batchSize);
+        }
+        return result;
+    }
+
+    private static Map<String, Float> scaleVolumes(Map<String, Float> volumes, int batchSize) {
+        Map<String, Float> result = new HashMap<>();
+        for (Map.Entry<String, Float> volume : volumes.entrySet()) {
+            result.put(volume.getKey(), volume.getValue() * batchSize);
+        }
+        return result;
     }
 
     @Override
@@ -157,24 +516,32 @@ public class ProcessPartWorkstationProcess implements WorkstationProcess, Valida
 
     @Override
     public Collection<ProcessPartDescription> getOutputDescriptions() {
-        ProcessEntityGetOutputDescriptionEvent event = new ProcessEntityGetOutputDescriptionEvent();
-        EntityRef tempProcessEntity = createProcessEntity(false);
-        tempProcessEntity.send(event);
-        tempProcessEntity.destroy();
-
-        List<ProcessPartDescription> result = Lists.newLinkedList(event.getOutputDescriptions());
+        List<ProcessPartDescription> result;
+        if (recipePlan != null) {
+            result = recipePlan.getOutputDescriptions(entityManager, blockManager, fluidRegistry);
+        } else {
+            ProcessEntityGetOutputDescriptionEvent event = new ProcessEntityGetOutputDescriptionEvent();
+            EntityRef tempProcessEntity = borrowTemporaryEntity();
+            tempProcessEntity.send(event);
+            returnTemporaryEntity(tempProcessEntity);
+            result = Lists.newArrayList(event.getOutputDescriptions());
+        }
         result.sort(Comparator.comparing(ProcessPartDescription::getDisplayName));
         return result;
     }
 
     @Override
     public Collection<ProcessPartDescription> getInputDescriptions() {
-        ProcessEntityGetInputDescriptionEvent event = new ProcessEntityGetInputDescriptionEvent();
-        EntityRef tempProcessEntity = createProcessEntity(false);
-        tempProcessEntity.send(event);
-        tempProcessEntity.destroy();
-
-        List<ProcessPartDescription> result = Lists.newLinkedList(event.getInputDescriptions());
+        List<ProcessPartDescription> result;
+        if (recipePlan != null) {
+            result = recipePlan.getInputDescriptions(entityManager, blockManager, fluidRegistry);
+        } else {
+            ProcessEntityGetInputDescriptionEvent event = new ProcessEntityGetInputDescriptionEvent();
+            EntityRef tempProcessEntity = borrowTemporaryEntity();
+            tempProcessEntity.send(event);
+            returnTemporaryEntity(tempProcessEntity);
+            result = Lists.newArrayList(event.getInputDescriptions());
+        }
         result.sort(Comparator.comparing(ProcessPartDescription::getDisplayName));
         return result;
     }
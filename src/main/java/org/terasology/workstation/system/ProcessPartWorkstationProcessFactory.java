@@ -6,19 +6,29 @@ import org.slf4j.LoggerFactory;
 import org.terasology.engine.entitySystem.entity.EntityManager;
 import org.terasology.engine.entitySystem.prefab.Prefab;
 import org.terasology.engine.registry.In;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.fluid.system.FluidRegistry;
 import org.terasology.workstation.process.InvalidProcessPartException;
 import org.terasology.workstation.process.WorkstationProcess;
+import org.terasology.workstation.process.inventory.ItemTypeIds;
 
 public class ProcessPartWorkstationProcessFactory implements WorkstationProcessFactory {
     private static final org.slf4j.Logger logger = LoggerFactory.getLogger(ProcessPartWorkstationProcessFactory.class);
 
     @In
     private EntityManager entityManager;
+    @In
+    private BlockManager blockManager;
+    @In
+    private FluidRegistry fluidRegistry;
+    @In
+    private ItemTypeIds itemTypeIds;
 
     @Override
     public WorkstationProcess createProcess(Prefab prefab) {
         try {
-            WorkstationProcess process = new ProcessPartWorkstationProcess(prefab, entityManager);
+            WorkstationProcess process = new ProcessPartWorkstationProcess(prefab, entityManager, blockManager, fluidRegistry,
+                    itemTypeIds);
             return process;
         } catch (InvalidProcessPartException ex) {
             logger.warn("Invalid Process: " + prefab.getName() + ". " + ex.getMessage());
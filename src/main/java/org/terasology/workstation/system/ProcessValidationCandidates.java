@@ -0,0 +1,76 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.system;
+
+import com.google.common.collect.ImmutableSet;
+import org.terasology.workstation.process.DeclareInputTypes;
+import org.terasology.workstation.process.DeclareSlotCategories;
+import org.terasology.workstation.process.WorkstationProcess;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Selects the processes to ask when validating an item or fluid put into a workstation, so that not all of them have to be asked.
+ * <p>
+ * A process that declares its input types and slot categories accepts anything in the slots outside of its input categories, and
+ * rejects whatever it does not use in the slots of its input categories. For a type it does not consume or produce, its answer only
+ * depends on its slot categories, so only one process per set of slot categories has to be asked. The processes that use the type
+ * are found through {@link WorkstationRegistry#getProcessesUsingType}. Processes that don't declare their types are always asked.
+ */
+class ProcessValidationCandidates {
+    private final Class<?> validatorType;
+    private final boolean fluids;
+    private final Map<Set<String>, List<WorkstationProcess>> alwaysAskedByProcessTypes = new HashMap<>();
+    private long registryVersion = -1;
+
+    /**
+     * @param validatorType the interface of the processes that validate
+     * @param fluids        whether fluids are validated, which are put into the fluid slot categories
+     */
+    ProcessValidationCandidates(Class<?> validatorType, boolean fluids) {
+        this.validatorType = validatorType;
+        this.fluids = fluids;
+    }
+
+    /**
+     * @return the validating processes that have to be asked whatever is put into the workstation, empty if none of the processes
+     * validates
+     */
+    List<WorkstationProcess> getAlwaysAsked(WorkstationRegistry workstationRegistry, Collection<String> processTypes) {
+        Collection<WorkstationProcess> processes = workstationRegistry.getWorkstationProcesses(processTypes);
+        if (registryVersion != workstationRegistry.getVersion()) {
+            alwaysAskedByProcessTypes.clear();
+            registryVersion = workstationRegistry.getVersion();
+        }
+        List<WorkstationProcess> result = alwaysAskedByProcessTypes.get(processTypes);
+        if (result == null) {
+            result = new ArrayList<>();
+            Set<Set<String>> askedCategories = new HashSet<>();
+            for (WorkstationProcess process : processes) {
+                if (validatorType.isInstance(process)) {
+                    Set<String> categories = getDeclaredCategories(process);
+                    if (categories == null || askedCategories.add(categories)) {
+                        result.add(process);
+                    }
+                }
+            }
+            alwaysAskedByProcessTypes.put(ImmutableSet.copyOf(processTypes), result);
+        }
+        return result;
+    }
+
+    private Set<String> getDeclaredCategories(WorkstationProcess process) {
+        if (!(process instanceof DeclareInputTypes) || ((DeclareInputTypes) process).getInputTypes() == null
+                || !(process instanceof DeclareSlotCategories)) {
+            return null;
+        }
+        DeclareSlotCategories slotCategories = (DeclareSlotCategories) process;
+        return fluids ? slotCategories.getFluidSlotCategories() : slotCategories.getItemSlotCategories();
+    }
+}
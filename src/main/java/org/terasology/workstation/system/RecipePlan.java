@@ -0,0 +1,157 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.system;
+
+import com.google.common.collect.ImmutableSet;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+import org.terasology.engine.entitySystem.entity.EntityManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.engine.logic.common.DisplayNameComponent;
+import org.terasology.engine.utilities.Assets;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.fluid.system.FluidRegistry;
+import org.terasology.gestalt.assets.ResourceUrn;
+import org.terasology.gestalt.entitysystem.component.Component;
+import org.terasology.workstation.component.ProcessDefinitionComponent;
+import org.terasology.workstation.component.ProcessTypeDescriptionComponent;
+import org.terasology.workstation.process.ProcessPartDescription;
+import org.terasology.workstation.process.WorkstationInventoryUtils;
+import org.terasology.workstation.process.fluid.FluidInputComponent;
+import org.terasology.workstation.process.fluid.FluidInputProcessPartCommonSystem;
+import org.terasology.workstation.process.fluid.FluidOutputComponent;
+import org.terasology.workstation.process.fluid.FluidOutputProcessPartCommonSystem;
+import org.terasology.workstation.process.inventory.InventoryInputComponent;
+import org.terasology.workstation.process.inventory.InventoryInputProcessPartCommonSystem;
+import org.terasology.workstation.process.inventory.InventoryOutputComponent;
+import org.terasology.workstation.process.inventory.InventoryOutputProcessPartCommonSystem;
+import org.terasology.workstation.process.inventory.InventoryProcessPartUtils;
+import org.terasology.workstation.process.inventory.ItemTypeIds;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The process parts of a prefab that only uses the built-in inventory and fluid components, compiled so that items, fluids and
+ * descriptions can be checked and built directly instead of through the events sent to a temporary process entity.
+ * <p>
+ * Each check does the same as the handler of the corresponding event in the process part systems.
+ */
+final class RecipePlan {
+    private static final Set<Class<? extends Component>> SUPPORTED_COMPONENTS = ImmutableSet.of(
+            ProcessDefinitionComponent.class, ProcessTypeDescriptionComponent.class, DisplayNameComponent.class,
+            InventoryInputComponent.class, InventoryOutputComponent.class, FluidInputComponent.class, FluidOutputComponent.class);
+
+    private final InventoryInputComponent inventoryInput;
+    private final InventoryOutputComponent inventoryOutput;
+    private final FluidInputComponent fluidInput;
+    private final FluidOutputComponent fluidOutput;
+
+    // Block family and item prefab ids of the inputs
+    private final TIntSet inputTypeIds = new TIntHashSet();
+    private final ItemTypeIds itemTypeIds;
+
+    private RecipePlan(Prefab prefab, ItemTypeIds itemTypeIds) {
+        this.itemTypeIds = itemTypeIds;
+        inventoryInput = prefab.getComponent(InventoryInputComponent.class);
+        inventoryOutput = prefab.getComponent(InventoryOutputComponent.class);
+        fluidInput = prefab.getComponent(FluidInputComponent.class);
+        fluidOutput = prefab.getComponent(FluidOutputComponent.class);
+    }
+
+    /**
+     * @return the plan, or null if the prefab has process parts that are not built in or inputs that can't be resolved
+     */
+    static RecipePlan compile(Prefab prefab, ItemTypeIds itemTypeIds) {
+        for (Component component : prefab.iterateComponents()) {
+            if (!SUPPORTED_COMPONENTS.contains(component.getClass())) {
+                return null;
+            }
+        }
+
+        RecipePlan plan = new RecipePlan(prefab, itemTypeIds);
+        if (plan.inventoryInput != null) {
+            for (String blockFamily : plan.inventoryInput.blockCounts.keySet()) {
+                plan.inputTypeIds.add(itemTypeIds.forBlockFamily(blockFamily));
+            }
+            for (String itemPrefab : plan.inventoryInput.itemCounts.keySet()) {
+                if (!Assets.getPrefab(itemPrefab).isPresent()) {
+                    return null;
+                }
+                plan.inputTypeIds.add(itemTypeIds.forItemPrefab(itemPrefab));
+            }
+        }
+        return plan;
+    }
+
+    boolean isValid(EntityRef workstation, int slotNo, EntityRef instigator, EntityRef item) {
+        if (inventoryInput != null && !isInputItem(item)
+                && WorkstationInventoryUtils.isInputSlot(workstation, InventoryInputProcessPartCommonSystem.WORKSTATIONINPUTCATEGORY, slotNo)) {
+            return false;
+        }
+        // only allow the workstation to put items in the output
+        return inventoryOutput == null || instigator.equals(workstation)
+                || !WorkstationInventoryUtils.isOutputSlot(workstation, InventoryOutputProcessPartCommonSystem.WORKSTATIONOUTPUTCATEGORY, slotNo);
+    }
+
+    boolean isValidFluid(EntityRef workstation, int slotNo, EntityRef instigator, String fluidType) {
+        if (fluidInput != null && !fluidInput.fluidVolumes.containsKey(fluidType)
+                && WorkstationInventoryUtils.isInputSlot(workstation, FluidInputProcessPartCommonSystem.FLUIDINPUTCATEGORY, slotNo)) {
+            return false;
+        }
+        return fluidOutput == null || workstation.equals(instigator)
+                || !WorkstationInventoryUtils.isOutputSlot(workstation, FluidOutputProcessPartCommonSystem.FLUIDOUTPUTCATEGORY, slotNo);
+    }
+
+    List<ProcessPartDescription> getInputDescriptions(EntityManager entityManager, BlockManager blockManager, FluidRegistry fluidRegistry) {
+        List<ProcessPartDescription> result = new ArrayList<>();
+        if (inventoryInput != null) {
+            addItemDescriptions(result, inventoryInput.blockCounts, inventoryInput.itemCounts, entityManager, blockManager);
+        }
+        if (fluidInput != null) {
+            addFluidDescriptions(result, fluidInput.fluidVolumes, fluidRegistry);
+        }
+        return result;
+    }
+
+    List<ProcessPartDescription> getOutputDescriptions(EntityManager entityManager, BlockManager blockManager, FluidRegistry fluidRegistry) {
+        List<ProcessPartDescription> result = new ArrayList<>();
+        if (inventoryOutput != null) {
+            addItemDescriptions(result, inventoryOutput.blockCounts, inventoryOutput.itemCounts, entityManager, blockManager);
+        }
+        if (fluidOutput != null) {
+            addFluidDescriptions(result, fluidOutput.fluidVolumes, fluidRegistry);
+        }
+        return result;
+    }
+
+    private boolean isInputItem(EntityRef item) {
+        return inputTypeIds.contains(itemTypeIds.getBlockFamilyId(item)) || inputTypeIds.contains(itemTypeIds.getItemPrefabId(item));
+    }
+
+    private static void addItemDescriptions(List<ProcessPartDescription> descriptions, Map<String, Integer> blockCounts,
+                                            Map<String, Integer> itemCounts, EntityManager entityManager, BlockManager blockManager) {
+        // the item widgets of the descriptions are rendered from item entities
+        Set<EntityRef> items = InventoryProcessPartUtils.createItems(blockCounts, itemCounts, false, entityManager, blockManager);
+        try {
+            for (EntityRef item : items) {
+                descriptions.add(InventoryProcessPartUtils.createProcessPartDescription(item));
+            }
+        } finally {
+            for (EntityRef item : items) {
+                item.destroy();
+            }
+        }
+    }
+
+    private static void addFluidDescriptions(List<ProcessPartDescription> descriptions, Map<String, Float> fluidVolumes,
+                                             FluidRegistry fluidRegistry) {
+        for (Map.Entry<String, Float> fluidAmount : fluidVolumes.entrySet()) {
+            String fluidName = fluidRegistry.getDisplayName(fluidAmount.getKey());
+            descriptions.add(new ProcessPartDescription(new ResourceUrn(fluidAmount.getKey()), fluidAmount.getValue() + "mL " + fluidName));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.system;
+
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.OnChangedComponent;
+import org.terasology.engine.entitySystem.event.EventPriority;
+import org.terasology.engine.entitySystem.event.Priority;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.registry.Share;
+import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
+import org.terasology.module.inventory.components.InventoryAccessComponent;
+import org.terasology.workstation.component.WorkstationInventoryComponent;
+import org.terasology.workstation.process.SlotLayout;
+
+/**
+ * Caches the slot layouts of workstations, see {@link org.terasology.workstation.process.WorkstationInventoryUtils#getSlotLayout}.
+ * <p>
+ * Only entities with inventory access or slot assignments are cached. Their layouts are dropped when either changes, before
+ * anything else reacts to the change, and when they are unloaded, after everything else has reacted.
+ */
+@RegisterSystem
+@Share(SlotLayoutCacheSystem.class)
+public class SlotLayoutCacheSystem extends BaseComponentSystem {
+    // Slot layouts by workstation entity id
+    private final TLongObjectMap<SlotLayout> slotLayouts = new TLongObjectHashMap<>();
+
+    @Override
+    public void shutdown() {
+        slotLayouts.clear();
+    }
+
+    public SlotLayout getSlotLayout(EntityRef workstation) {
+        InventoryAccessComponent inventoryAccess = workstation.getComponent(InventoryAccessComponent.class);
+        WorkstationInventoryComponent workstationInventory = workstation.getComponent(WorkstationInventoryComponent.class);
+        long id = workstation.getId();
+        SlotLayout result = slotLayouts.get(id);
+        // also catches changes without an event, such as a reused entity id
+        if (result == null || !result.isBuiltFrom(inventoryAccess, workstationInventory)) {
+            result = new SlotLayout(inventoryAccess, workstationInventory);
+            // nothing would drop the layouts of other entities
+            if (workstation.exists() && (inventoryAccess != null || workstationInventory != null)) {
+                slotLayouts.put(id, result);
+            } else {
+                slotLayouts.remove(id);
+            }
+        }
+        return result;
+    }
+
+    @Priority(EventPriority.PRIORITY_CRITICAL)
+    @ReceiveEvent(components = InventoryAccessComponent.class)
+    public void inventoryAccessActivated(OnActivatedComponent event, EntityRef workstation) {
+        slotLayouts.remove(workstation.getId());
+    }
+
+    @Priority(EventPriority.PRIORITY_CRITICAL)
+    @ReceiveEvent(components = InventoryAccessComponent.class)
+    public void inventoryAccessChanged(OnChangedComponent event, EntityRef workstation) {
+        slotLayouts.remove(workstation.getId());
+    }
+
+    @Priority(EventPriority.PRIORITY_TRIVIAL)
+    @ReceiveEvent(components = InventoryAccessComponent.class)
+    public void inventoryAccessDeactivated(BeforeDeactivateComponent event, EntityRef workstation) {
+        slotLayouts.remove(workstation.getId());
+    }
+
+    @Priority(EventPriority.PRIORITY_CRITICAL)
+    @ReceiveEvent(components = WorkstationInventoryComponent.class)
+    public void workstationInventoryActivated(OnActivatedComponent event, EntityRef workstation) {
+        slotLayouts.remove(workstation.getId());
+    }
+
+    @Priority(EventPriority.PRIORITY_CRITICAL)
+    @ReceiveEvent(components = WorkstationInventoryComponent.class)
+    public void workstationInventoryChanged(OnChangedComponent event, EntityRef workstation) {
+        slotLayouts.remove(workstation.getId());
+    }
+
+    @Priority(EventPriority.PRIORITY_TRIVIAL)
+    @ReceiveEvent(components = WorkstationInventoryComponent.class)
+    public void workstationInventoryDeactivated(BeforeDeactivateComponent event, EntityRef workstation) {
+        slotLayouts.remove(workstation.getId());
+    }
+}
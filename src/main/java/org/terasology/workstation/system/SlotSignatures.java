@@ -0,0 +1,78 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.system;
+
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.workstation.process.DeclareSlotCategories;
+import org.terasology.workstation.process.SlotLayout;
+import org.terasology.workstation.process.WorkstationInventoryUtils;
+import org.terasology.workstation.process.WorkstationProcess;
+import org.terasology.workstation.process.fluid.ValidateFluidInventoryItem;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Describes a workstation slot by the slot categories it is assigned to, for caching the validation of processes whose answers only
+ * depend on those.
+ */
+final class SlotSignatures {
+    // Two bits per category in a signature
+    private static final int MAX_CATEGORIES = 32;
+
+    private SlotSignatures() {
+    }
+
+    /**
+     * @param fluids whether the fluid validation and slot categories are used instead of the item ones
+     * @return the sorted slot categories read by the validating processes, or null if the validation of one of them is instance
+     * dependent
+     */
+    static List<String> getSignatureCategories(Collection<WorkstationProcess> processes, boolean fluids) {
+        Set<String> categories = new TreeSet<>();
+        for (WorkstationProcess process : processes) {
+            boolean instanceDependent;
+            if (fluids && process instanceof ValidateFluidInventoryItem) {
+                instanceDependent = ((ValidateFluidInventoryItem) process).isValidationInstanceDependent();
+            } else if (!fluids && process instanceof ValidateInventoryItem) {
+                instanceDependent = ((ValidateInventoryItem) process).isValidationInstanceDependent();
+            } else {
+                continue;
+            }
+            if (instanceDependent || !(process instanceof DeclareSlotCategories)) {
+                return null;
+            }
+            DeclareSlotCategories slotCategories = (DeclareSlotCategories) process;
+            Set<String> processCategories = fluids ? slotCategories.getFluidSlotCategories() : slotCategories.getItemSlotCategories();
+            if (processCategories == null) {
+                return null;
+            }
+            categories.addAll(processCategories);
+        }
+        if (categories.size() > MAX_CATEGORIES) {
+            return null;
+        }
+        return Collections.unmodifiableList(new ArrayList<>(categories));
+    }
+
+    /**
+     * @return two bits per category, telling whether the slot is assigned to it as input and as output
+     */
+    static long getSlotSignature(EntityRef workstation, List<String> categories, int slot) {
+        SlotLayout slotLayout = WorkstationInventoryUtils.getSlotLayout(workstation);
+        long signature = 0;
+        for (int i = 0; i < categories.size(); i++) {
+            if (slotLayout.isInputSlot(categories.get(i), slot)) {
+                signature |= 1L << (2 * i);
+            }
+            if (slotLayout.isOutputSlot(categories.get(i), slot)) {
+                signature |= 1L << (2 * i + 1);
+            }
+        }
+        return signature;
+    }
+}
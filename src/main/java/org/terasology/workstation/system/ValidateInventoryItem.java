@@ -3,7 +3,19 @@
 package org.terasology.workstation.system;
 
 import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.workstation.process.DeclareSlotCategories;
 
 public interface ValidateInventoryItem {
     boolean isValid(EntityRef workstation, int slotNo, EntityRef instigator, EntityRef item);
+
+    /**
+     * A process whose validation is not instance dependent decides only from the block family and prefab of the item, the
+     * {@link DeclareSlotCategories declared item slot categories} the slot is assigned to and whether the workstation is the
+     * instigator. Its answers are cached.
+     *
+     * @return true if the validation may depend on anything else about the workstation or the item
+     */
+    default boolean isValidationInstanceDependent() {
+        return true;
+    }
 }
@@ -2,39 +2,63 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.workstation.system;
 
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
 import org.terasology.engine.core.Time;
 import org.terasology.engine.entitySystem.entity.EntityManager;
 import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.BeforeRemoveComponent;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
 import org.terasology.engine.entitySystem.entity.lifecycleEvents.OnAddedComponent;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.OnChangedComponent;
 import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
 import org.terasology.engine.entitySystem.systems.RegisterMode;
 import org.terasology.engine.entitySystem.systems.RegisterSystem;
 import org.terasology.engine.entitySystem.systems.UpdateSubscriberSystem;
-import org.terasology.engine.logic.delay.DelayManager;
+import org.terasology.engine.logic.console.commandSystem.annotations.Command;
 import org.terasology.engine.logic.delay.DelayedActionTriggeredEvent;
+import org.terasology.engine.logic.permission.PermissionManager;
 import org.terasology.engine.monitoring.PerformanceMonitor;
-import org.terasology.engine.registry.CoreRegistry;
 import org.terasology.engine.registry.In;
 import org.terasology.engine.world.block.BlockComponent;
+import org.terasology.fluid.system.FluidUtils;
 import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
+import org.terasology.module.inventory.systems.InventoryUtils;
 import org.terasology.workstation.component.WorkstationComponent;
 import org.terasology.workstation.component.WorkstationProcessingComponent;
 import org.terasology.workstation.event.WorkstationProcessRequest;
 import org.terasology.workstation.event.WorkstationStateChanged;
+import org.terasology.workstation.process.DeclareInputTypes;
+import org.terasology.workstation.process.DeclareSlotCategories;
 import org.terasology.workstation.process.InvalidProcessException;
+import org.terasology.workstation.process.SlotLayout;
+import org.terasology.workstation.process.WorkstationInventoryFingerprints;
+import org.terasology.workstation.process.WorkstationInventoryUtils;
 import org.terasology.workstation.process.WorkstationProcess;
+import org.terasology.workstation.process.fluid.FluidInputProcessPartCommonSystem;
+import org.terasology.workstation.process.fluid.FluidOutputProcessPartCommonSystem;
+import org.terasology.workstation.process.inventory.InventoryInputProcessPartCommonSystem;
+import org.terasology.workstation.process.inventory.InventoryItemTypes;
 
-import java.util.Deque;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 @RegisterSystem(RegisterMode.AUTHORITY)
 public class WorkstationAuthoritySystem extends BaseComponentSystem implements UpdateSubscriberSystem {
     public static final String WORKSTATION_PROCESSING = "Workstation:Processing";
 
+    static final int MAX_AUTOMATIC_PROCESSING_REVIVALS_PER_TICK = 32;
     private static final int AUTOMATIC_PROCESSING_REVIVAL_INTERVAL = 10000;
+    private static final int PROCESS_SCHEDULER_TICK_DURATION = 50;
+    private static final int PROCESS_SCHEDULER_WHEEL_SIZE = 512;
 
     @In
     private WorkstationRegistry workstationRegistry;
@@ -42,12 +66,37 @@ public class WorkstationAuthoritySystem extends BaseComponentSystem implements U
     private Time time;
     @In
     private EntityManager entityManager;
+    @In
+    private WorkstationConfig config;
+    @In
+    private WorkstationInventoryFingerprints inventoryFingerprints;
 
     private boolean executingProcess;
-    private long nextAutomaticProcessingRevivalTime;
+    private boolean addingProcessingComponent;
+
+    // Automatic workstations that are not processing anything, these are revived periodically
+    private IdleWorkstationTracker idleWorkstations = new IdleWorkstationTracker();
+
+    private WorkstationProcessScheduler processScheduler =
+            new WorkstationProcessScheduler(PROCESS_SCHEDULER_TICK_DURATION, PROCESS_SCHEDULER_WHEEL_SIZE);
+
+    // Keyed by entity id, as PojoEntityRef's hashcode changes when it is being destroyed.
+    private PendingWorkstationQueue pendingWorkstationChecks = new PendingWorkstationQueue();
 
-    // I would rather use LinkedHashSet, however cannot due to PojoEntityRef's hashcode changing when it is being destroyed.
-    private Deque<EntityRef> pendingWorkstationChecks = new LinkedList<>();
+    // Automatic processes that could not be started, until the slots they read change
+    private FailedProcessStartCache failedProcessStarts = new FailedProcessStartCache();
+
+    // Workstations that could not start any automatic process, with the input types they are waiting for
+    private TLongObjectMap<Set<String>> starvedWorkstations = new TLongObjectHashMap<>();
+    private long ignoredStarvedChanges;
+    // Registry version the failed starts and starved workstations were recorded with
+    private long registryVersion = -1;
+
+    // Budget used by the pending checks in the current tick, whatever is left over is checked in the following ticks
+    private int checksThisTick;
+    private long checkNanosThisTick;
+    private int checksLastTick;
+    private long checkNanosLastTick;
 
     @ReceiveEvent
     public void machineAdded(OnAddedComponent event, EntityRef workstation, WorkstationComponent workstationComponent, BlockComponent block) {
@@ -57,29 +106,127 @@ public class WorkstationAuthoritySystem extends BaseComponentSystem implements U
 
     @ReceiveEvent
     public void automaticProcessingStateChanged(WorkstationStateChanged event, EntityRef workstation, WorkstationComponent workstationComponent) {
-        pendingWorkstationChecks.add(workstation);
+        if (event.isGeneral()) {
+            pendingWorkstationChecks.add(workstation);
+        } else {
+            Set<String> awaitedTypes = starvedWorkstations.get(workstation.getId());
+            if (awaitedTypes != null && !isAwaitedChange(workstation, awaitedTypes, event.getChangedSlots(), event.isFluidsChanged())) {
+                ignoredStarvedChanges++;
+                return;
+            }
+            pendingWorkstationChecks.add(workstation, event.getChangedSlots(), event.isFluidsChanged());
+        }
         startProcessingIfNotExecuting();
     }
 
+    @ReceiveEvent
+    public void workstationActivated(OnActivatedComponent event, EntityRef workstation, WorkstationComponent workstationComp,
+                                     BlockComponent block) {
+        // revived at the next update, loaded workstations may have been able to start a process for a while
+        if (isIdleAutomatic(workstation, workstationComp)) {
+            idleWorkstations.addFirst(workstation, time.getGameTimeInMs());
+        } else {
+            idleWorkstations.remove(workstation);
+        }
+    }
+
+    @ReceiveEvent
+    public void workstationChanged(OnChangedComponent event, EntityRef workstation, WorkstationComponent workstationComp,
+                                   BlockComponent block) {
+        updateIdleState(workstation, workstationComp);
+    }
+
+    @ReceiveEvent
+    public void workstationDeactivated(BeforeDeactivateComponent event, EntityRef workstation, WorkstationComponent workstationComp) {
+        idleWorkstations.remove(workstation);
+        failedProcessStarts.remove(workstation);
+        starvedWorkstations.remove(workstation.getId());
+    }
+
+    @ReceiveEvent
+    public void workstationRemoved(BeforeRemoveComponent event, EntityRef workstation, WorkstationComponent workstationComp) {
+        idleWorkstations.remove(workstation);
+        failedProcessStarts.remove(workstation);
+        starvedWorkstations.remove(workstation.getId());
+    }
+
+    @ReceiveEvent
+    public void processingActivated(OnActivatedComponent event, EntityRef workstation, WorkstationComponent workstationComp,
+                                    WorkstationProcessingComponent workstationProcessing) {
+        idleWorkstations.remove(workstation);
+        if (addingProcessingComponent) {
+            // a process has just been started, it is scheduled by the caller
+            return;
+        }
+
+        // Processes that were running when the workstation was unloaded are not in the scheduler anymore
+        for (WorkstationProcessingComponent.ProcessDef processDef : workstationProcessing.processes.values()) {
+            processScheduler.schedule(workstation, processDef.processingFinishTime);
+        }
+    }
+
+    @ReceiveEvent
+    public void processingRemoved(BeforeRemoveComponent event, EntityRef workstation, WorkstationComponent workstationComp,
+                                  WorkstationProcessingComponent workstationProcessing, BlockComponent block) {
+        if (workstationComp.supportedProcessTypes.containsValue(true)) {
+            idleWorkstations.add(workstation, time.getGameTimeInMs() + AUTOMATIC_PROCESSING_REVIVAL_INTERVAL);
+        }
+    }
+
+    private void updateIdleState(EntityRef workstation, WorkstationComponent workstationComp) {
+        if (isIdleAutomatic(workstation, workstationComp)) {
+            idleWorkstations.add(workstation, time.getGameTimeInMs() + AUTOMATIC_PROCESSING_REVIVAL_INTERVAL);
+        } else {
+            idleWorkstations.remove(workstation);
+        }
+    }
+
+    private static boolean isIdleAutomatic(EntityRef workstation, WorkstationComponent workstationComp) {
+        return workstationComp.supportedProcessTypes.containsValue(true) && !workstation.hasComponent(WorkstationProcessingComponent.class);
+    }
+
+    /**
+     * Processes are finished from {@link #update(float)}, this only picks up the delayed actions that were scheduled for workstations
+     * by older versions of this system and are still stored with them.
+     */
     @ReceiveEvent
     public void finishProcessing(DelayedActionTriggeredEvent event, EntityRef workstation, WorkstationComponent workstationComp,
                                  WorkstationProcessingComponent workstationProcessing) {
         PerformanceMonitor.startActivity("Workstation - finishing process");
         executingProcess = true;
         try {
-            String actionId = event.getActionId();
-            long gameTime = time.getGameTimeInMs();
-            Map<String, WorkstationProcessingComponent.ProcessDef> processesCopy = new HashMap<>(workstationProcessing.processes);
-            for (Map.Entry<String, WorkstationProcessingComponent.ProcessDef> processes : processesCopy.entrySet()) {
-                WorkstationProcessingComponent.ProcessDef processDef = processes.getValue();
-                if (processDef.processingFinishTime <= gameTime) {
-                    final WorkstationProcess workstationProcess = workstationRegistry.getWorkstationProcessById(
-                            workstationComp.supportedProcessTypes.keySet(), processDef.processingProcessId);
-                    finishProcessing(workstation, workstation, workstationProcess);
+            finishDueProcesses(workstation, workstationComp, workstationProcessing, time.getGameTimeInMs());
+
+            pendingWorkstationChecks.add(workstation);
+            processPendingChecks();
+        } finally {
+            executingProcess = false;
+            PerformanceMonitor.endActivity();
+        }
+    }
+
+    private void finishDueProcesses(long gameTime) {
+        Collection<EntityRef> dueWorkstations = processScheduler.pollDue(gameTime);
+        if (dueWorkstations.isEmpty()) {
+            return;
+        }
+
+        PerformanceMonitor.startActivity("Workstation - finishing processes");
+        executingProcess = true;
+        try {
+            // A workstation is scheduled once per running process, but it only needs to be handled once per tick
+            TLongSet handledWorkstations = new TLongHashSet();
+            for (EntityRef workstation : dueWorkstations) {
+                if (workstation.exists() && handledWorkstations.add(workstation.getId())) {
+                    WorkstationComponent workstationComp = workstation.getComponent(WorkstationComponent.class);
+                    WorkstationProcessingComponent workstationProcessing = workstation.getComponent(WorkstationProcessingComponent.class);
+                    if (workstationComp != null && workstationProcessing != null) {
+                        finishDueProcesses(workstation, workstationComp, workstationProcessing, gameTime);
+                        pendingWorkstationChecks.add(workstation);
+                    }
                 }
             }
 
-            pendingWorkstationChecks.add(workstation);
             processPendingChecks();
         } finally {
             executingProcess = false;
@@ -87,6 +234,19 @@ public class WorkstationAuthoritySystem extends BaseComponentSystem implements U
         }
     }
 
+    private void finishDueProcesses(EntityRef workstation, WorkstationComponent workstationComp,
+                                    WorkstationProcessingComponent workstationProcessing, long gameTime) {
+        Map<String, WorkstationProcessingComponent.ProcessDef> processesCopy = new HashMap<>(workstationProcessing.processes);
+        for (Map.Entry<String, WorkstationProcessingComponent.ProcessDef> processes : processesCopy.entrySet()) {
+            WorkstationProcessingComponent.ProcessDef processDef = processes.getValue();
+            if (processDef.processingFinishTime <= gameTime) {
+                final WorkstationProcess workstationProcess = workstationRegistry.getWorkstationProcessById(
+                        workstationComp.supportedProcessTypes.keySet(), processDef.processingProcessId);
+                finishProcessing(workstation, workstation, workstationProcess);
+            }
+        }
+    }
+
     @ReceiveEvent
     public void manualWorkstationProcess(WorkstationProcessRequest event, EntityRef instigator) {
         EntityRef workstation = event.getWorkstation();
@@ -127,25 +287,32 @@ public class WorkstationAuthoritySystem extends BaseComponentSystem implements U
     private void processPendingChecks() {
         PerformanceMonitor.startActivity("Workstation - processing pending checks");
         try {
-            while (!pendingWorkstationChecks.isEmpty()) {
-                EntityRef workstation = extractFirstPendingWorkstation();
+            while (!pendingWorkstationChecks.isEmpty() && hasCheckBudgetLeft()) {
+                long checkStart = System.nanoTime();
+                PendingWorkstationCheck check = pendingWorkstationChecks.poll();
+                EntityRef workstation = check.getWorkstation();
                 if (workstation.exists()) {
                     WorkstationComponent workstationComp = workstation.getComponent(WorkstationComponent.class);
                     if (workstationComp != null) {
-                        processIfHasPendingAutomaticProcesses(workstation, workstationComp);
+                        processIfHasPendingAutomaticProcesses(workstation, workstationComp, check);
                     }
                 }
+                checksThisTick++;
+                checkNanosThisTick += System.nanoTime() - checkStart;
             }
         } finally {
             PerformanceMonitor.endActivity();
         }
     }
 
-    private EntityRef extractFirstPendingWorkstation() {
-        return pendingWorkstationChecks.removeFirst();
+    private boolean hasCheckBudgetLeft() {
+        // always make some progress, even with a budget of zero
+        return checksThisTick == 0
+                || (checksThisTick < config.maxChecksPerTick.get()
+                && checkNanosThisTick < config.maxCheckMillisPerTick.get() * 1000000L);
     }
 
-    private void processIfHasPendingAutomaticProcesses(EntityRef entity, WorkstationComponent workstation) {
+    private void processIfHasPendingAutomaticProcesses(EntityRef entity, WorkstationComponent workstation, PendingWorkstationCheck check) {
         Map<String, Boolean> possibleProcesses = new LinkedHashMap<>(workstation.supportedProcessTypes);
 
         // Filter out those currently processing
@@ -163,25 +330,250 @@ public class WorkstationAuthoritySystem extends BaseComponentSystem implements U
             }
         }
 
-        for (WorkstationProcess workstationProcess : workstationRegistry.getWorkstationProcesses(possibleProcesses.keySet())) {
-            if (possibleProcesses.get(workstationProcess.getProcessType())) {
-                startProcessingAutomatic(entity, workstationProcess, time.getGameTimeInMs());
+        Collection<WorkstationProcess> candidates = null;
+        if (starvedWorkstations.containsKey(entity.getId())) {
+            candidates = getProcessesUsingArrivedInputs(entity, check, possibleProcesses.keySet());
+        }
+        if (candidates == null) {
+            candidates = workstationRegistry.getWorkstationProcesses(possibleProcesses.keySet());
+        }
+
+        Map<String, Boolean> changedCategories = new HashMap<>();
+        for (WorkstationProcess workstationProcess : candidates) {
+            if (possibleProcesses.get(workstationProcess.getProcessType())
+                    && isAffectedByChange(entity, workstationProcess, check, changedCategories)) {
+                startProcessingAutomaticIfNotKnownToFail(entity, workstationProcess, check.isGeneral());
+            }
+        }
+
+        updateStarvedState(entity, workstation);
+    }
+
+    /**
+     * None of the processes of a starved workstation could start for lack of inputs. If only its item input slots have changed since,
+     * only the processes consuming what is in those slots now can have become startable.
+     *
+     * @return those processes, or null if other changes require checking all processes
+     */
+    private Collection<WorkstationProcess> getProcessesUsingArrivedInputs(EntityRef workstation, PendingWorkstationCheck check,
+                                                                          Collection<String> processTypes) {
+        if (check.isGeneral() || check.isFluidsChanged()) {
+            return null;
+        }
+        SlotLayout slotLayout = WorkstationInventoryUtils.getSlotLayout(workstation);
+        Set<WorkstationProcess> result = new LinkedHashSet<>();
+        for (int slot : check.getChangedSlots()) {
+            if (!slotLayout.isInputSlot(InventoryInputProcessPartCommonSystem.WORKSTATIONINPUTCATEGORY, slot)) {
+                return null;
+            }
+            EntityRef item = InventoryUtils.getItemAt(workstation, slot);
+            result.addAll(workstationRegistry.getProcessesUsingType(processTypes, InventoryItemTypes.getBlockFamilyType(item)));
+            result.addAll(workstationRegistry.getProcessesUsingType(processTypes, InventoryItemTypes.getItemPrefabType(item)));
+        }
+        return result;
+    }
+
+    /**
+     * A workstation that is not processing anything after being checked could not start any of its automatic processes. If all of
+     * them declare their input types, it only has to be checked again when one of those arrives or when an output slot changes.
+     */
+    private void updateStarvedState(EntityRef entity, WorkstationComponent workstation) {
+        long id = entity.getId();
+        if (!workstation.supportedProcessTypes.containsValue(true) || entity.hasComponent(WorkstationProcessingComponent.class)) {
+            starvedWorkstations.remove(id);
+            return;
+        }
+
+        Set<String> automaticProcessTypes = new HashSet<>();
+        for (Map.Entry<String, Boolean> processDef : workstation.supportedProcessTypes.entrySet()) {
+            if (processDef.getValue()) {
+                automaticProcessTypes.add(processDef.getKey());
+            }
+        }
+        Set<String> awaitedTypes = new HashSet<>();
+        for (WorkstationProcess workstationProcess : workstationRegistry.getWorkstationProcesses(automaticProcessTypes)) {
+            Set<String> inputTypes = workstationProcess instanceof DeclareInputTypes
+                    ? ((DeclareInputTypes) workstationProcess).getInputTypes() : null;
+            if (inputTypes == null) {
+                starvedWorkstations.remove(id);
+                return;
+            }
+            awaitedTypes.addAll(inputTypes);
+        }
+        starvedWorkstations.put(id, awaitedTypes);
+    }
+
+    private boolean isAwaitedChange(EntityRef workstation, Set<String> awaitedTypes, Set<Integer> changedSlots, boolean fluidsChanged) {
+        SlotLayout slotLayout = WorkstationInventoryUtils.getSlotLayout(workstation);
+        for (int slot : changedSlots) {
+            if (!slotLayout.isInputSlot(InventoryInputProcessPartCommonSystem.WORKSTATIONINPUTCATEGORY, slot)) {
+                // might have made room for the results of a process
+                return true;
+            }
+            EntityRef item = InventoryUtils.getItemAt(workstation, slot);
+            if (awaitedTypes.contains(InventoryItemTypes.getBlockFamilyType(item))
+                    || awaitedTypes.contains(InventoryItemTypes.getItemPrefabType(item))) {
+                return true;
+            }
+        }
+
+        if (fluidsChanged) {
+            // fluid changes are not reported per slot, any change could have made room for the resulting fluids
+            if (!WorkstationInventoryUtils.getAssignedOutputSlots(workstation, FluidOutputProcessPartCommonSystem.FLUIDOUTPUTCATEGORY).isEmpty()) {
+                return true;
+            }
+            for (int slot : WorkstationInventoryUtils.getAssignedInputSlots(workstation, FluidInputProcessPartCommonSystem.FLUIDINPUTCATEGORY)) {
+                String fluid = FluidUtils.getFluidAt(workstation, slot);
+                if (fluid != null && awaitedTypes.contains(InventoryItemTypes.forFluid(fluid))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The outcome of starting a process that declares the slots it reads only depends on the contents of those slots, so a failure
+     * is remembered until they change.
+     * <p>
+     * General checks, like the periodic revival of idle workstations, always try to start the process: the fingerprints are only
+     * updated by slot change events, which are the ones these checks make up for.
+     *
+     * @param ignoreKnownFailure whether to try to start the process even if it failed with the same fingerprint before
+     */
+    private void startProcessingAutomaticIfNotKnownToFail(EntityRef workstation, WorkstationProcess process, boolean ignoreKnownFailure) {
+        Set<String> itemCategories = null;
+        Set<String> fluidCategories = null;
+        if (process instanceof DeclareSlotCategories) {
+            itemCategories = ((DeclareSlotCategories) process).getItemSlotCategories();
+            fluidCategories = ((DeclareSlotCategories) process).getFluidSlotCategories();
+        }
+        if (itemCategories == null || fluidCategories == null) {
+            startProcessingAutomatic(workstation, process, time.getGameTimeInMs());
+            return;
+        }
+
+        long fingerprint = FailedProcessStartCache.fingerprint(inventoryFingerprints, workstation, itemCategories, fluidCategories);
+        if (!ignoreKnownFailure && failedProcessStarts.isKnownFailure(workstation, process.getId(), fingerprint)) {
+            return;
+        }
+        if (startProcessingAutomatic(workstation, process, time.getGameTimeInMs())) {
+            failedProcessStarts.recordSuccess(workstation, process.getId());
+        } else {
+            failedProcessStarts.recordFailure(workstation, process.getId(), fingerprint);
+        }
+    }
+
+    /**
+     * Only processes that read a slot category which has changed can have become startable.
+     *
+     * @param changedCategories whether a slot category contains one of the changed slots, filled in as categories are looked up
+     */
+    private boolean isAffectedByChange(EntityRef workstation, WorkstationProcess process, PendingWorkstationCheck check,
+                                       Map<String, Boolean> changedCategories) {
+        if (check.isGeneral() || !(process instanceof DeclareSlotCategories)) {
+            return true;
+        }
+        DeclareSlotCategories slotCategories = (DeclareSlotCategories) process;
+        Set<String> itemCategories = slotCategories.getItemSlotCategories();
+        Set<String> fluidCategories = slotCategories.getFluidSlotCategories();
+        if (itemCategories == null || fluidCategories == null) {
+            return true;
+        }
+
+        // the fluid inventory does not report which of its slots changed
+        if (check.isFluidsChanged() && !fluidCategories.isEmpty()) {
+            return true;
+        }
+        for (String category : itemCategories) {
+            Boolean changed = changedCategories.get(category);
+            if (changed == null) {
+                changed = false;
+                for (int slot : check.getChangedSlots()) {
+                    if (WorkstationInventoryUtils.isAssignedSlot(workstation, category, slot)) {
+                        changed = true;
+                        break;
+                    }
+                }
+                changedCategories.put(category, changed);
+            }
+            if (changed) {
+                return true;
             }
         }
+        return false;
     }
 
     @Override
     public void update(float delta) {
+        checksLastTick = checksThisTick;
+        checkNanosLastTick = checkNanosThisTick;
+        checksThisTick = 0;
+        checkNanosThisTick = 0;
+
+        if (registryVersion != workstationRegistry.getVersion()) {
+            // processes have been reloaded, what was known about them might not apply anymore
+            registryVersion = workstationRegistry.getVersion();
+            failedProcessStarts.clear();
+            starvedWorkstations.clear();
+        }
+
         long currentTime = time.getGameTimeInMs();
-        if (currentTime > nextAutomaticProcessingRevivalTime) {
-            nextAutomaticProcessingRevivalTime = currentTime + AUTOMATIC_PROCESSING_REVIVAL_INTERVAL;
-            for (EntityRef entityRef : entityManager.getEntitiesWith(WorkstationComponent.class, BlockComponent.class)) {
-                WorkstationComponent workstationComponent = entityRef.getComponent(WorkstationComponent.class);
-                if (workstationComponent.supportedProcessTypes.containsValue(true)
-                        && !entityRef.hasComponent(WorkstationProcessingComponent.class)) {
-                    // there are automatic processes and there is no process currently running, trigger a state change event
-                    // sometimes automatic workstations need to be jump started after world load or if there are not sufficient state changed events
-                    entityRef.send(new WorkstationStateChanged());
+        finishDueProcesses(currentTime);
+        if (!pendingWorkstationChecks.isEmpty()) {
+            // continue with the checks that did not fit into the budget of the previous tick
+            startProcessingIfNotExecuting();
+        }
+
+        reviveIdleWorkstations(currentTime);
+    }
+
+    public int getPendingCheckCount() {
+        return pendingWorkstationChecks.size();
+    }
+
+    public int getChecksLastTick() {
+        return checksLastTick;
+    }
+
+    public long getCheckNanosLastTick() {
+        return checkNanosLastTick;
+    }
+
+    public long getFailedStartCacheHits() {
+        return failedProcessStarts.getHits();
+    }
+
+    public long getFailedStartCacheMisses() {
+        return failedProcessStarts.getMisses();
+    }
+
+    @Command(shortDescription = "Show the workstation check budget and backlog", runOnServer = true,
+            requiredPermission = PermissionManager.DEBUG_PERMISSION)
+    public String workstationCheckStats() {
+        return String.format("Pending checks: %d, checked last tick: %d in %.2fms, budget: %d checks or %dms per tick, "
+                        + "failed start cache: %d hits, %d misses, %d workstations, starved: %d workstations, %d changes ignored",
+                pendingWorkstationChecks.size(), checksLastTick, checkNanosLastTick / 1000000f,
+                config.maxChecksPerTick.get(), config.maxCheckMillisPerTick.get(),
+                failedProcessStarts.getHits(), failedProcessStarts.getMisses(), failedProcessStarts.size(),
+                starvedWorkstations.size(), ignoredStarvedChanges);
+    }
+
+    private void reviveIdleWorkstations(long currentTime) {
+        for (EntityRef workstation : idleWorkstations.pollDue(currentTime, MAX_AUTOMATIC_PROCESSING_REVIVALS_PER_TICK)) {
+            if (!workstation.exists()) {
+                continue;
+            }
+
+            WorkstationComponent workstationComponent = workstation.getComponent(WorkstationComponent.class);
+            if (workstationComponent != null && workstationComponent.supportedProcessTypes.containsValue(true)
+                    && !workstation.hasComponent(WorkstationProcessingComponent.class)) {
+                // there are automatic processes and there is no process currently running, trigger a state change event
+                // sometimes automatic workstations need to be jump started after world load or if there are not sufficient state changed events
+                idleWorkstations.add(workstation, currentTime + AUTOMATIC_PROCESSING_REVIVAL_INTERVAL);
+                // starved workstations are woken by the arrival of their inputs instead
+                if (!starvedWorkstations.containsKey(workstation.getId())) {
+                    workstation.send(new WorkstationStateChanged());
                 }
             }
         }
@@ -208,14 +600,14 @@ public class WorkstationAuthoritySystem extends BaseComponentSystem implements U
             if (workstationProcessing == null) {
                 workstationProcessing = new WorkstationProcessingComponent();
                 workstationProcessing.processes.put(process.getProcessType(), processDef);
-                workstation.addComponent(workstationProcessing);
+                addProcessingComponent(workstation, workstationProcessing);
             } else {
                 workstationProcessing.processes.put(process.getProcessType(), processDef);
                 workstation.saveComponent(workstationProcessing);
             }
 
             if (duration > 0) {
-                scheduleWorkstationWakeUpIfNecessary(workstation, gameTime);
+                scheduleProcessFinish(workstation, processDef);
             } else {
                 finishProcessing(workstation, workstation, process, workstationProcessing);
             }
@@ -224,7 +616,10 @@ public class WorkstationAuthoritySystem extends BaseComponentSystem implements U
         }
     }
 
-    private void startProcessingAutomatic(EntityRef workstation, WorkstationProcess process, long gameTime) {
+    /**
+     * @return true if the process has been started
+     */
+    private boolean startProcessingAutomatic(EntityRef workstation, WorkstationProcess process, long gameTime) {
         EntityRef processEntity = process.createProcessEntity();
         if (processEntity == null || processEntity == EntityRef.NULL) {
             // create a blank process entity;
@@ -244,19 +639,21 @@ public class WorkstationAuthoritySystem extends BaseComponentSystem implements U
             if (workstationProcessing == null) {
                 workstationProcessing = new WorkstationProcessingComponent();
                 workstationProcessing.processes.put(process.getProcessType(), processDef);
-                workstation.addComponent(workstationProcessing);
+                addProcessingComponent(workstation, workstationProcessing);
             } else {
                 workstationProcessing.processes.put(process.getProcessType(), processDef);
                 workstation.saveComponent(workstationProcessing);
             }
 
             if (duration > 0) {
-                scheduleWorkstationWakeUpIfNecessary(workstation, gameTime);
+                scheduleProcessFinish(workstation, processDef);
             } else {
                 finishProcessing(workstation, workstation, process, workstationProcessing);
             }
+            return true;
         } catch (InvalidProcessException exp) {
             processEntity.destroy();
+            return false;
         }
     }
 
@@ -278,30 +675,16 @@ public class WorkstationAuthoritySystem extends BaseComponentSystem implements U
         finishProcessing(instigator, workstation, process, workstation.getComponent(WorkstationProcessingComponent.class));
     }
 
-    // If necessary, schedule wake-ups (i.e. DelayActions) for the processes in this workstation.
-    private void scheduleWorkstationWakeUpIfNecessary(EntityRef workstation, long currentTime) {
-        WorkstationProcessingComponent workstationProcessing = workstation.getComponent(WorkstationProcessingComponent.class);
-        if (workstationProcessing != null) {
-            long endTime = Long.MAX_VALUE;
-
-            final DelayManager delayManager = CoreRegistry.get(DelayManager.class);
-
-            // Schedule wake-ups for all processes in this Workstation. TODO: Perhaps it could be done more efficiently?
-            for (WorkstationProcessingComponent.ProcessDef processDef : workstationProcessing.processes.values()) {
-                endTime = processDef.processingFinishTime;
-
-                // Construct the unique action ID to prevent conflicts in the event handler.
-                String fullActionID = WORKSTATION_PROCESSING + " - " +
-                        processDef.processingProcessId + " - " + processDef.hashCode();
-
-                // If there was a delayed action pertaining to this workstatio and action ID, cancel it.
-                if (delayManager.hasDelayedAction(workstation, fullActionID)) {
-                    delayManager.cancelDelayedAction(workstation, fullActionID);
-                }
-
-                // Add a delayed action pertaining to this workstation and action ID, and activate it after
-                delayManager.addDelayedAction(workstation, fullActionID, endTime - currentTime);
-            }
+    private void addProcessingComponent(EntityRef workstation, WorkstationProcessingComponent workstationProcessing) {
+        addingProcessingComponent = true;
+        try {
+            workstation.addComponent(workstationProcessing);
+        } finally {
+            addingProcessingComponent = false;
         }
     }
+
+    private void scheduleProcessFinish(EntityRef workstation, WorkstationProcessingComponent.ProcessDef processDef) {
+        processScheduler.schedule(workstation, processDef.processingFinishTime);
+    }
 }
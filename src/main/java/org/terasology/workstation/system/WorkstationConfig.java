@@ -0,0 +1,55 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.system;
+
+import org.terasology.engine.config.flexible.AutoConfig;
+import org.terasology.engine.config.flexible.Setting;
+
+import static org.terasology.engine.config.flexible.SettingArgument.defaultValue;
+import static org.terasology.engine.config.flexible.SettingArgument.description;
+import static org.terasology.engine.config.flexible.SettingArgument.name;
+import static org.terasology.engine.config.flexible.SettingArgument.type;
+
+public class WorkstationConfig extends AutoConfig {
+    public final Setting<Integer> maxChecksPerTick = setting(
+            type(Integer.class),
+            defaultValue(256),
+            name("Workstation checks per tick"),
+            description("Maximum number of workstations checked for automatic processes in a single tick")
+    );
+
+    public final Setting<Integer> maxCheckMillisPerTick = setting(
+            type(Integer.class),
+            defaultValue(4),
+            name("Workstation check time per tick"),
+            description("Maximum time in milliseconds spent checking workstations for automatic processes in a single tick")
+    );
+
+    public final Setting<Boolean> warmUpProcesses = setting(
+            type(Boolean.class),
+            defaultValue(false),
+            name("Warm up workstation processes"),
+            description("Create all workstation processes when the game starts instead of when a workstation first needs them")
+    );
+
+    public final Setting<Boolean> copyInputItemsForValidation = setting(
+            type(Boolean.class),
+            defaultValue(false),
+            name("Copy input items for validation"),
+            description("Briefly add copies of the input items to a process entity when validating it, for modules that look at the "
+                    + "inputs that way instead of through the planned inputs event")
+    );
+
+    public final Setting<Boolean> createOutputItemsForValidation = setting(
+            type(Boolean.class),
+            defaultValue(false),
+            name("Create output items for validation"),
+            description("Create the output items of a process when validating it and add them to the process entity, for modules that "
+                    + "change the output items before they are checked against the output slots")
+    );
+
+    @Override
+    public String getName() {
+        return "Workstation";
+    }
+}
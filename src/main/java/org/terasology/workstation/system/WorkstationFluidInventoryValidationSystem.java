@@ -12,31 +12,69 @@ import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
 import org.terasology.workstation.component.WorkstationComponent;
 import org.terasology.workstation.process.WorkstationProcess;
 import org.terasology.workstation.process.fluid.ValidateFluidInventoryItem;
+import org.terasology.workstation.process.inventory.InventoryItemTypes;
+
+import java.util.Collection;
+import java.util.List;
 
 @RegisterSystem
 public class WorkstationFluidInventoryValidationSystem extends BaseComponentSystem {
     @In
     private WorkstationRegistry workstationRegistry;
 
+    private ProcessValidationCandidates validationCandidates = new ProcessValidationCandidates(ValidateFluidInventoryItem.class, true);
+    private FluidAcceptanceCache acceptanceCache = new FluidAcceptanceCache();
+
     @ReceiveEvent
     public void itemPutIntoWorkstation(BeforeFluidPutInInventory event, EntityRef entity,
                                        WorkstationComponent workstation, FluidInventoryComponent fluidInventory) {
         int slot = event.getSlot();
+        Collection<String> processTypes = workstation.supportedProcessTypes.keySet();
 
-        boolean hasValidation = false;
-        for (WorkstationProcess workstationProcess : workstationRegistry.getWorkstationProcesses(workstation.supportedProcessTypes.keySet())) {
-            if (workstationProcess instanceof ValidateFluidInventoryItem) {
-                ValidateFluidInventoryItem inventoryValidator = (ValidateFluidInventoryItem) workstationProcess;
-                hasValidation = true;
-                if (inventoryValidator.isValidFluid(entity, slot, event.getInstigator(), event.getFluidType())) {
-                    return;
-                }
+        List<WorkstationProcess> alwaysAsked = validationCandidates.getAlwaysAsked(workstationRegistry, processTypes);
+        if (alwaysAsked.isEmpty()) {
+            // no validators
+            return;
+        }
+        FluidAcceptanceCache.SlotAcceptance slotAcceptance = event.getFluidType() != null
+                ? acceptanceCache.getSlotAcceptance(workstationRegistry, processTypes, entity, slot, event.getInstigator()) : null;
+        boolean accepted;
+        if (slotAcceptance != null) {
+            int fluidId = acceptanceCache.getFluidId(event.getFluidType());
+            Boolean cached = slotAcceptance.isAccepted(fluidId);
+            if (cached != null) {
+                accepted = cached;
+            } else {
+                accepted = isAccepted(alwaysAsked, processTypes, entity, slot, event);
+                slotAcceptance.setAccepted(fluidId, accepted);
             }
+        } else {
+            accepted = isAccepted(alwaysAsked, processTypes, entity, slot, event);
         }
 
-        if (hasValidation) {
+        if (!accepted) {
             // There were validators, but no process has accepted this item
             event.consume();
         }
     }
+
+    private boolean isAccepted(List<WorkstationProcess> alwaysAsked, Collection<String> processTypes, EntityRef workstation, int slot,
+                               BeforeFluidPutInInventory event) {
+        return isAcceptedByAny(alwaysAsked, workstation, slot, event)
+                || event.getFluidType() != null && isAcceptedByAny(workstationRegistry.getProcessesUsingType(processTypes,
+                InventoryItemTypes.forFluid(event.getFluidType())), workstation, slot, event);
+    }
+
+    private boolean isAcceptedByAny(Collection<WorkstationProcess> processes, EntityRef workstation, int slot,
+                                    BeforeFluidPutInInventory event) {
+        for (WorkstationProcess workstationProcess : processes) {
+            if (workstationProcess instanceof ValidateFluidInventoryItem) {
+                ValidateFluidInventoryItem inventoryValidator = (ValidateFluidInventoryItem) workstationProcess;
+                if (inventoryValidator.isValidFluid(workstation, slot, event.getInstigator(), event.getFluidType())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,153 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.system;
+
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.engine.logic.inventory.ItemComponent;
+import org.terasology.engine.world.block.items.BlockItemComponent;
+import org.terasology.fluid.component.FluidContainerItemComponent;
+import org.terasology.fluid.system.FluidUtils;
+import org.terasology.module.inventory.systems.InventoryUtils;
+import org.terasology.workstation.process.WorkstationInventoryUtils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Inventory fingerprints of a single workstation.
+ * <p>
+ * Every item slot is hashed when it changes. The fingerprint of a slot category is the sum of the mixed hashes of its slots, so it is
+ * updated by swapping the old hash of a changed slot for the new one. Category fingerprints are computed when first requested and
+ * dropped when the slot assignments change. Fluid changes are not reported per slot, so fluid fingerprints are recomputed after any
+ * change of the fluid inventory.
+ */
+class WorkstationInventoryFingerprintState {
+    private final EntityRef workstation;
+    private long[] slotHashes;
+    private final Map<String, CategoryFingerprint> itemCategories = new HashMap<>();
+    private final Map<String, Long> fluidCategories = new HashMap<>();
+
+    WorkstationInventoryFingerprintState(EntityRef workstation) {
+        this.workstation = workstation;
+        slotHashes = new long[InventoryUtils.getSlotCount(workstation)];
+        for (int slot = 0; slot < slotHashes.length; slot++) {
+            slotHashes[slot] = itemHash(InventoryUtils.getItemAt(workstation, slot));
+        }
+    }
+
+    void slotChanged(int slot) {
+        if (slot < 0) {
+            return;
+        }
+        if (slot >= slotHashes.length) {
+            slotHashes = Arrays.copyOf(slotHashes, Math.max(slot + 1, InventoryUtils.getSlotCount(workstation)));
+        }
+        long oldHash = slotHashes[slot];
+        long newHash = itemHash(InventoryUtils.getItemAt(workstation, slot));
+        if (oldHash != newHash) {
+            slotHashes[slot] = newHash;
+            long difference = mix(slot, newHash) - mix(slot, oldHash);
+            for (CategoryFingerprint category : itemCategories.values()) {
+                if (category.slots.contains(slot)) {
+                    category.fingerprint += difference;
+                }
+            }
+        }
+    }
+
+    void fluidsChanged() {
+        fluidCategories.clear();
+    }
+
+    void slotAssignmentsChanged() {
+        itemCategories.clear();
+        fluidCategories.clear();
+    }
+
+    long getItemFingerprint(String category) {
+        CategoryFingerprint result = itemCategories.get(category);
+        if (result == null) {
+            result = new CategoryFingerprint(getCategorySlots(category));
+            for (int slot : result.slots.toArray()) {
+                result.fingerprint += mix(slot, slot < slotHashes.length ? slotHashes[slot] : 0);
+            }
+            itemCategories.put(category, result);
+        }
+        return result.fingerprint;
+    }
+
+    long getFluidFingerprint(String category) {
+        Long result = fluidCategories.get(category);
+        if (result == null) {
+            long fingerprint = 0;
+            for (int slot : getCategorySlots(category).toArray()) {
+                String fluid = FluidUtils.getFluidAt(workstation, slot);
+                long fluidHash = 31L * (fluid != null ? fluid.hashCode() : 0) + Float.floatToIntBits(FluidUtils.getFluidAmount(workstation, slot));
+                fingerprint += mix(slot, fluidHash);
+            }
+            result = fingerprint;
+            fluidCategories.put(category, result);
+        }
+        return result;
+    }
+
+    private TIntSet getCategorySlots(String category) {
+        TIntSet slots = new TIntHashSet();
+        for (int slot : WorkstationInventoryUtils.getAssignedInputSlots(workstation, category)) {
+            slots.add(slot);
+        }
+        for (int slot : WorkstationInventoryUtils.getAssignedOutputSlots(workstation, category)) {
+            slots.add(slot);
+        }
+        return slots;
+    }
+
+    private static long itemHash(EntityRef item) {
+        ItemComponent itemComponent = item.getComponent(ItemComponent.class);
+        if (itemComponent == null) {
+            return 0;
+        }
+        long result = itemComponent.stackCount;
+        BlockItemComponent blockItem = item.getComponent(BlockItemComponent.class);
+        if (blockItem != null && blockItem.blockFamily != null) {
+            result = 31 * result + blockItem.blockFamily.getURI().toString().hashCode();
+        }
+        Prefab prefab = item.getParentPrefab();
+        if (prefab != null) {
+            result = 31 * result + prefab.getUrn().toString().hashCode();
+        }
+        // the contents of a fluid container are part of its identity for the fluid filling processes
+        FluidContainerItemComponent fluidContainer = item.getComponent(FluidContainerItemComponent.class);
+        if (fluidContainer != null) {
+            result = 31 * result + (fluidContainer.fluidType != null ? fluidContainer.fluidType.hashCode() : 0);
+            result = 31 * result + Float.floatToIntBits(fluidContainer.volume);
+        }
+        return result;
+    }
+
+    /**
+     * Spreads the hash of a slot's contents over all bits, so that the sum of different slots is unlikely to collide.
+     */
+    private static long mix(int slot, long contentHash) {
+        long result = contentHash * 0x9E3779B97F4A7C15L + slot;
+        result ^= result >>> 33;
+        result *= 0xFF51AFD7ED558CCDL;
+        result ^= result >>> 33;
+        result *= 0xC4CEB9FE1A85EC53L;
+        result ^= result >>> 33;
+        return result;
+    }
+
+    private static final class CategoryFingerprint {
+        private final TIntSet slots;
+        private long fingerprint;
+
+        private CategoryFingerprint(TIntSet slots) {
+            this.slots = slots;
+        }
+    }
+}
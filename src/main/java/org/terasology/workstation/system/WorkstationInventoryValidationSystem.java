@@ -11,32 +11,68 @@ import org.terasology.module.inventory.components.InventoryComponent;
 import org.terasology.module.inventory.events.BeforeItemPutInInventory;
 import org.terasology.workstation.component.WorkstationComponent;
 import org.terasology.workstation.process.WorkstationProcess;
+import org.terasology.workstation.process.inventory.InventoryItemTypes;
+import org.terasology.workstation.process.inventory.ItemTypeIds;
+
+import java.util.Collection;
+import java.util.List;
 
 @RegisterSystem
 public class WorkstationInventoryValidationSystem extends BaseComponentSystem {
     @In
     private WorkstationRegistry workstationRegistry;
+    @In
+    private ItemTypeIds itemTypeIds;
+
+    private ProcessValidationCandidates validationCandidates = new ProcessValidationCandidates(ValidateInventoryItem.class, false);
+    private InventoryAcceptanceCache acceptanceCache = new InventoryAcceptanceCache();
 
     @ReceiveEvent
     public void itemPutIntoWorkstation(BeforeItemPutInInventory event, EntityRef entity,
                                        WorkstationComponent workstation, InventoryComponent workstationInventory) {
         int slot = event.getSlot();
+        Collection<String> processTypes = workstation.supportedProcessTypes.keySet();
 
-        boolean hasValidation = false;
-        for (WorkstationProcess workstationProcess : workstationRegistry.getWorkstationProcesses(
-                workstation.supportedProcessTypes.keySet())) {
-            if (workstationProcess instanceof ValidateInventoryItem) {
-                ValidateInventoryItem inventoryValidator = (ValidateInventoryItem) workstationProcess;
-                hasValidation = true;
-                if (inventoryValidator.isValid(entity, slot, event.getInstigator(), event.getItem())) {
-                    return;
-                }
+        List<WorkstationProcess> alwaysAsked = validationCandidates.getAlwaysAsked(workstationRegistry, processTypes);
+        if (alwaysAsked.isEmpty()) {
+            // no validators
+            return;
+        }
+        InventoryAcceptanceCache.AcceptanceKey acceptanceKey = acceptanceCache.createKey(workstationRegistry, itemTypeIds, processTypes, entity, slot,
+                event.getInstigator(), event.getItem());
+        Boolean accepted = acceptanceKey != null ? acceptanceCache.get(acceptanceKey) : null;
+        if (accepted == null) {
+            accepted = isAccepted(alwaysAsked, processTypes, entity, slot, event);
+            if (acceptanceKey != null) {
+                acceptanceCache.put(acceptanceKey, accepted);
             }
         }
 
-        if (hasValidation) {
+        if (!accepted) {
             // There were validators, but no process has accepted this item
             event.consume();
         }
     }
+
+    private boolean isAccepted(List<WorkstationProcess> alwaysAsked, Collection<String> processTypes, EntityRef workstation, int slot,
+                               BeforeItemPutInInventory event) {
+        return isAcceptedByAny(alwaysAsked, workstation, slot, event)
+                || isAcceptedByAny(workstationRegistry.getProcessesUsingType(processTypes,
+                InventoryItemTypes.getBlockFamilyType(event.getItem())), workstation, slot, event)
+                || isAcceptedByAny(workstationRegistry.getProcessesUsingType(processTypes,
+                InventoryItemTypes.getItemPrefabType(event.getItem())), workstation, slot, event);
+    }
+
+    private boolean isAcceptedByAny(Collection<WorkstationProcess> processes, EntityRef workstation, int slot,
+                                    BeforeItemPutInInventory event) {
+        for (WorkstationProcess workstationProcess : processes) {
+            if (workstationProcess instanceof ValidateInventoryItem) {
+                ValidateInventoryItem inventoryValidator = (ValidateInventoryItem) workstationProcess;
+                if (inventoryValidator.isValid(workstation, slot, event.getInstigator(), event.getItem())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
 }
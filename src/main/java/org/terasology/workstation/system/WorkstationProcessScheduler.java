@@ -0,0 +1,119 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.system;
+
+import org.terasology.engine.entitySystem.entity.EntityRef;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Hashed timer wheel keyed by the finish time of running workstation processes.
+ * <p>
+ * Scheduling a workstation is O(1). Each call to {@link #pollDue(long)} only visits the buckets for the ticks that passed since the
+ * previous call and the bucket of the current tick; entries in those buckets that are not due yet are left in place.
+ * <p>
+ * Entries are never cancelled, the caller is expected to check whether the workstation still has a process that is due.
+ */
+public class WorkstationProcessScheduler {
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private final long tickDuration;
+    private final int mask;
+    private final Entry[] buckets;
+
+    private long lastProcessedTick = NOT_STARTED;
+    private int size;
+
+    /**
+     * @param tickDuration the resolution of the wheel in milliseconds
+     * @param wheelSize    the number of buckets, rounded up to a power of two
+     */
+    public WorkstationProcessScheduler(long tickDuration, int wheelSize) {
+        this.tickDuration = tickDuration;
+        int bucketCount = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.mask = bucketCount - 1;
+        this.buckets = new Entry[bucketCount];
+    }
+
+    public void schedule(EntityRef workstation, long finishTime) {
+        long tick = finishTime / tickDuration;
+        if (lastProcessedTick != NOT_STARTED) {
+            // never put the entry into a bucket that has already been visited for the current revolution
+            tick = Math.max(tick, lastProcessedTick + 1);
+        }
+        int index = (int) (tick & mask);
+        buckets[index] = new Entry(workstation, finishTime, buckets[index]);
+        size++;
+    }
+
+    /**
+     * Removes and returns the workstations whose scheduled finish time is at or before the given time.
+     * A workstation is returned once for every time it was scheduled.
+     */
+    public Collection<EntityRef> pollDue(long currentTime) {
+        long targetTick = currentTime / tickDuration;
+        long fromTick = lastProcessedTick == NOT_STARTED ? targetTick - mask : lastProcessedTick + 1;
+        if (targetTick - fromTick > mask) {
+            // a whole revolution has passed, every bucket has to be visited exactly once
+            fromTick = targetTick - mask;
+        }
+
+        List<EntityRef> result = null;
+        for (long tick = fromTick; tick <= targetTick && size > 0; tick++) {
+            int index = (int) (tick & mask);
+            Entry previous = null;
+            Entry entry = buckets[index];
+            while (entry != null) {
+                Entry next = entry.next;
+                if (entry.finishTime <= currentTime) {
+                    if (previous == null) {
+                        buckets[index] = next;
+                    } else {
+                        previous.next = next;
+                    }
+                    size--;
+                    if (result == null) {
+                        result = new ArrayList<>();
+                    }
+                    result.add(entry.workstation);
+                } else {
+                    previous = entry;
+                }
+                entry = next;
+            }
+        }
+        // the bucket of the current tick may still hold entries that are due later in this tick, so it is visited again by the next call
+        if (targetTick - 1 > lastProcessedTick || lastProcessedTick == NOT_STARTED) {
+            lastProcessedTick = targetTick - 1;
+        }
+
+        return result != null ? result : Collections.emptyList();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = null;
+        }
+        size = 0;
+        lastProcessedTick = NOT_STARTED;
+    }
+
+    private static final class Entry {
+        private final EntityRef workstation;
+        private final long finishTime;
+        private Entry next;
+
+        private Entry(EntityRef workstation, long finishTime, Entry next) {
+            this.workstation = workstation;
+            this.finishTime = finishTime;
+            this.next = next;
+        }
+    }
+}
@@ -2,7 +2,9 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.workstation.system;
 
+import org.terasology.workstation.process.ProcessPartDescription;
 import org.terasology.workstation.process.WorkstationProcess;
+import org.terasology.workstation.process.inventory.InventoryItemTypes;
 
 import java.util.Collection;
 
@@ -14,4 +16,30 @@ public interface WorkstationRegistry {
     Collection<WorkstationProcess> getWorkstationProcesses(Collection<String> processType);
 
     WorkstationProcess getWorkstationProcessById(Collection<String> supportedProcessTypes, String processId);
+
+    /**
+     * Only processes that declare their input or output types are found this way.
+     *
+     * @param type a block family, item prefab or fluid key as created by {@link InventoryItemTypes}
+     * @return the processes of the given process types that consume or produce the type
+     */
+    Collection<WorkstationProcess> getProcessesUsingType(Collection<String> processTypes, String type);
+
+    /**
+     * @return a number that changes whenever registered processes are replaced or removed, or processes are added to a process type
+     * that is already in use, to invalidate anything derived from them
+     */
+    long getVersion();
+
+    /**
+     * @return the descriptions of the inputs of the process, created once for each registered process, or an empty collection if
+     * the process does not describe itself
+     */
+    Collection<ProcessPartDescription> getInputDescriptions(WorkstationProcess process);
+
+    /**
+     * @return the descriptions of the outputs of the process, created once for each registered process, or an empty collection if
+     * the process does not describe itself
+     */
+    Collection<ProcessPartDescription> getOutputDescriptions(WorkstationProcess process);
 }
@@ -2,6 +2,10 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.workstation.system;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.terasology.engine.entitySystem.prefab.Prefab;
 import org.terasology.engine.entitySystem.prefab.PrefabManager;
 import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
@@ -10,25 +14,162 @@ import org.terasology.engine.logic.console.commandSystem.annotations.Command;
 import org.terasology.engine.registry.In;
 import org.terasology.engine.registry.InjectionHelper;
 import org.terasology.engine.registry.Share;
+import org.terasology.gestalt.assets.ResourceUrn;
+import org.terasology.gestalt.entitysystem.component.Component;
 import org.terasology.workstation.component.ProcessDefinitionComponent;
+import org.terasology.workstation.process.DeclareInputTypes;
+import org.terasology.workstation.process.DeclareOutputTypes;
+import org.terasology.workstation.process.DescribeProcess;
+import org.terasology.workstation.process.ProcessPartDescription;
 import org.terasology.workstation.process.WorkstationProcess;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @RegisterSystem
 @Share(WorkstationRegistry.class)
 public class WorkstationRegistryImpl extends BaseComponentSystem implements WorkstationRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(WorkstationRegistryImpl.class);
+
     @In
     PrefabManager prefabManager;
+    @In
+    WorkstationConfig config;
 
     private Set<String> scannedTypes = new HashSet<>();
 
+    // Process definition prefabs by process type, built in a single pass over the prefabs
+    private Map<String, List<Prefab>> processPrefabsByType;
+    // The indexed prefabs as they were when indexed, to find those that have been reloaded or disposed since
+    private Map<ResourceUrn, IndexedPrefab> indexedPrefabs = new HashMap<>();
+
+    private Map<String, WorkstationProcessFactory> factoriesByType = new HashMap<>();
+    private Map<ResourceUrn, String> processIdsByPrefab = new HashMap<>();
+
     private Map<String, Map<String, WorkstationProcess>> workstationProcesses = new LinkedHashMap<>();
+    private Map<String, WorkstationProcess> processesById = new HashMap<>();
+    private Map<String, String> processTypesById = new HashMap<>();
+
+    // Merged processes by the set of process types supported by a workstation, dropped whenever a process is registered
+    private Map<Set<String>, Collection<WorkstationProcess>> processesByTypes = new HashMap<>();
+    // Processes by the item and fluid types they consume or produce and by process type, built when first needed after a change
+    private Map<String, Map<String, List<WorkstationProcess>>> processesByItemType;
+    // Descriptions of the registered processes by process id, dropped when the process is replaced or removed
+    private Map<String, ProcessDescriptions> descriptionsById = new HashMap<>();
+    private long version;
+
+    @Override
+    public void initialise() {
+        getProcessPrefabIndex();
+    }
+
+    @Override
+    public void postBegin() {
+        if (config.warmUpProcesses.get()) {
+            warmUpProcesses();
+        }
+    }
+
+    /**
+     * Creates the processes of all process types that have not been scanned yet. The checks of the prefab data run in parallel, only
+     * the prefabs that pass them are turned into processes, which requires the entity system.
+     */
+    private void warmUpProcesses() {
+        long start = System.nanoTime();
+        Map<String, List<Prefab>> index = getProcessPrefabIndex();
+        Map<Prefab, String> prefabErrors = new ConcurrentHashMap<>();
+        index.values().parallelStream().flatMap(List::stream).forEach(prefab -> {
+            String error = ProcessPartWorkstationProcess.findPrefabDataError(prefab);
+            if (error != null) {
+                prefabErrors.put(prefab, error);
+            }
+        });
+        for (Map.Entry<Prefab, String> prefabError : prefabErrors.entrySet()) {
+            logger.warn("Invalid Process: {}. {}", prefabError.getKey().getName(), prefabError.getValue());
+        }
+
+        WorkstationProcessFactory factory = new ProcessPartWorkstationProcessFactory();
+        int processTypeCount = 0;
+        int invalidCount = prefabErrors.size();
+        for (Map.Entry<String, List<Prefab>> processPrefabs : index.entrySet()) {
+            if (!scannedTypes.contains(processPrefabs.getKey())) {
+                List<Prefab> validPrefabs = new ArrayList<>(processPrefabs.getValue());
+                validPrefabs.removeAll(prefabErrors.keySet());
+                invalidCount += registerProcesses(processPrefabs.getKey(), factory, validPrefabs);
+                processTypeCount++;
+            }
+        }
+        logger.info("Warmed up {} processes of {} process types in {}ms, {} invalid processes", processesById.size(), processTypeCount,
+                (System.nanoTime() - start) / 1000000, invalidCount);
+    }
+
+    /**
+     * Prefabs keep their identity when reloaded, but get new components. Only the processes of the prefabs that were added, changed
+     * or disposed since they were indexed are recreated.
+     *
+     * @return the number of changed process prefabs
+     */
+    private int reloadChangedProcesses() {
+        Set<ResourceUrn> changedPrefabs = new HashSet<>();
+        Set<ResourceUrn> currentPrefabs = new HashSet<>();
+        for (Prefab prefab : prefabManager.listPrefabs(ProcessDefinitionComponent.class)) {
+            currentPrefabs.add(prefab.getUrn());
+            IndexedPrefab indexedPrefab = indexedPrefabs.get(prefab.getUrn());
+            if (indexedPrefab == null || indexedPrefab.isChanged(prefab)) {
+                changedPrefabs.add(prefab.getUrn());
+            }
+        }
+        for (ResourceUrn prefabUrn : indexedPrefabs.keySet()) {
+            if (!currentPrefabs.contains(prefabUrn)) {
+                changedPrefabs.add(prefabUrn);
+            }
+        }
+        if (changedPrefabs.isEmpty()) {
+            return 0;
+        }
+
+        Map<ResourceUrn, IndexedPrefab> previousPrefabs = indexedPrefabs;
+        processPrefabsByType = null;
+        getProcessPrefabIndex();
+        for (ResourceUrn prefabUrn : changedPrefabs) {
+            IndexedPrefab previousPrefab = previousPrefabs.get(prefabUrn);
+            if (previousPrefab != null) {
+                removePrefabProcess(previousPrefab.processType, prefabUrn);
+            }
+            IndexedPrefab currentPrefab = indexedPrefabs.get(prefabUrn);
+            if (currentPrefab != null && scannedTypes.contains(currentPrefab.processType)) {
+                WorkstationProcess process = factoriesByType.get(currentPrefab.processType).createProcess(currentPrefab.prefab);
+                if (process != null) {
+                    workstationProcesses.get(currentPrefab.processType).put(process.getId(), process);
+                    indexProcess(currentPrefab.processType, process);
+                    processIdsByPrefab.put(prefabUrn, process.getId());
+                }
+            }
+        }
+        processesChanged();
+        logger.info("Reloaded the processes of {} changed process prefabs", changedPrefabs.size());
+        return changedPrefabs.size();
+    }
+
+    private void removePrefabProcess(String processType, ResourceUrn prefabUrn) {
+        String processId = processIdsByPrefab.remove(prefabUrn);
+        if (processId != null) {
+            Map<String, WorkstationProcess> processes = workstationProcesses.get(processType);
+            if (processes != null) {
+                processes.remove(processId);
+            }
+            releaseProcess(processesById.remove(processId));
+            processTypesById.remove(processId);
+        }
+    }
 
     @Override
     public void registerProcessFactory(String processType, WorkstationProcessFactory factory) {
@@ -37,15 +178,19 @@ public class WorkstationRegistryImpl extends BaseComponentSystem implements Work
 
     @Override
     public Collection<WorkstationProcess> getWorkstationProcesses(Collection<String> processTypes) {
-        Map<String, WorkstationProcess> processes = new LinkedHashMap<>();
-        for (String processType : processTypes) {
-            if (!scannedTypes.contains(processType)) {
-                registerProcesses(processType, new ProcessPartWorkstationProcessFactory());
+        Set<String> processTypeSet = processTypes instanceof Set ? (Set<String>) processTypes : new HashSet<>(processTypes);
+        Collection<WorkstationProcess> result = processesByTypes.get(processTypeSet);
+        if (result == null) {
+            scanProcessTypes(processTypeSet);
+
+            Map<String, WorkstationProcess> processes = new LinkedHashMap<>();
+            for (String processType : processTypeSet) {
+                processes.putAll(workstationProcesses.get(processType));
             }
-            processes.putAll(workstationProcesses.get(processType));
+            result = Collections.unmodifiableList(new ArrayList<>(processes.values()));
+            processesByTypes.put(ImmutableSet.copyOf(processTypeSet), result);
         }
-
-        return processes.values();
+        return result;
     }
 
     @Override
@@ -55,44 +200,274 @@ public class WorkstationRegistryImpl extends BaseComponentSystem implements Work
             processes = new HashMap<>();
             workstationProcesses.put(processType, processes);
         }
-        processes.put(workstationProcess.getId(), workstationProcess);
+        WorkstationProcess previousProcess = processes.put(workstationProcess.getId(), workstationProcess);
+        releaseProcess(previousProcess);
+        indexProcess(processType, workstationProcess);
+        if (previousProcess != null || scannedTypes.contains(processType)) {
+            processesChanged();
+        } else {
+            processesAdded();
+        }
     }
 
     @Override
     public WorkstationProcess getWorkstationProcessById(Collection<String> supportedProcessTypes, String processId) {
-        for (WorkstationProcess workstationProcess : getWorkstationProcesses(supportedProcessTypes)) {
-            if (workstationProcess.getId().equals(processId)) {
-                return workstationProcess;
-            }
+        scanProcessTypes(supportedProcessTypes);
+        String processType = processTypesById.get(processId);
+        if (processType != null && supportedProcessTypes.contains(processType)) {
+            return processesById.get(processId);
         }
         return null;
     }
 
+    @Override
+    public Collection<WorkstationProcess> getProcessesUsingType(Collection<String> processTypes, String type) {
+        if (type == null) {
+            return Collections.emptyList();
+        }
+        scanProcessTypes(processTypes);
+        Map<String, List<WorkstationProcess>> processesByType = getProcessesByItemType().get(type);
+        if (processesByType == null) {
+            return Collections.emptyList();
+        }
+        List<WorkstationProcess> result = new ArrayList<>();
+        for (String processType : processTypes) {
+            result.addAll(processesByType.getOrDefault(processType, Collections.emptyList()));
+        }
+        return result;
+    }
+
+    private Map<String, Map<String, List<WorkstationProcess>>> getProcessesByItemType() {
+        if (processesByItemType == null) {
+            Map<String, Map<String, List<WorkstationProcess>>> index = new HashMap<>();
+            for (Map.Entry<String, Map<String, WorkstationProcess>> processes : workstationProcesses.entrySet()) {
+                for (WorkstationProcess process : processes.getValue().values()) {
+                    Set<String> types = new HashSet<>();
+                    if (process instanceof DeclareInputTypes && ((DeclareInputTypes) process).getInputTypes() != null) {
+                        types.addAll(((DeclareInputTypes) process).getInputTypes());
+                    }
+                    if (process instanceof DeclareOutputTypes && ((DeclareOutputTypes) process).getOutputTypes() != null) {
+                        types.addAll(((DeclareOutputTypes) process).getOutputTypes());
+                    }
+                    for (String type : types) {
+                        index.computeIfAbsent(type, key -> new HashMap<>())
+                                .computeIfAbsent(processes.getKey(), key -> new ArrayList<>()).add(process);
+                    }
+                }
+            }
+            processesByItemType = index;
+        }
+        return processesByItemType;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    private void scanProcessTypes(Collection<String> processTypes) {
+        for (String processType : processTypes) {
+            if (!scannedTypes.contains(processType)) {
+                registerProcesses(processType, new ProcessPartWorkstationProcessFactory());
+            }
+        }
+    }
+
+    private void indexProcess(String processType, WorkstationProcess workstationProcess) {
+        processesById.put(workstationProcess.getId(), workstationProcess);
+        processTypesById.put(workstationProcess.getId(), processType);
+    }
+
+    @Override
+    public Collection<ProcessPartDescription> getInputDescriptions(WorkstationProcess process) {
+        return getDescriptions(process).inputs;
+    }
+
+    @Override
+    public Collection<ProcessPartDescription> getOutputDescriptions(WorkstationProcess process) {
+        return getDescriptions(process).outputs;
+    }
+
+    private ProcessDescriptions getDescriptions(WorkstationProcess process) {
+        if (processesById.get(process.getId()) != process) {
+            // not registered, so there is nothing to invalidate the descriptions
+            return new ProcessDescriptions(process);
+        }
+        ProcessDescriptions result = descriptionsById.get(process.getId());
+        if (result == null) {
+            result = new ProcessDescriptions(process);
+            descriptionsById.put(process.getId(), result);
+        }
+        return result;
+    }
+
+    /**
+     * Frees what a process that is no longer registered holds on to.
+     */
+    private void releaseProcess(WorkstationProcess process) {
+        if (process == null) {
+            return;
+        }
+        descriptionsById.remove(process.getId());
+        if (process instanceof ProcessPartWorkstationProcess) {
+            ((ProcessPartWorkstationProcess) process).destroyTemporaryEntities();
+        }
+    }
+
+    private void processesChanged() {
+        processesAdded();
+        version++;
+    }
+
+    /**
+     * Only drops the lookups, as nothing derived from the processes that were already registered has changed.
+     */
+    private void processesAdded() {
+        processesByTypes.clear();
+        processesByItemType = null;
+    }
+
     private void registerProcesses(String processType, WorkstationProcessFactory factory) {
+        registerProcesses(processType, factory, getProcessPrefabIndex().getOrDefault(processType, Collections.emptyList()));
+    }
+
+    /**
+     * @return the number of prefabs the factory did not create a process for
+     */
+    private int registerProcesses(String processType, WorkstationProcessFactory factory, Collection<Prefab> prefabs) {
         InjectionHelper.inject(factory);
+        factoriesByType.put(processType, factory);
         Map<String, WorkstationProcess> processes = new HashMap<>();
         if (workstationProcesses.containsKey(processType)) {
             processes.putAll(workstationProcesses.get(processType));
         }
 
-        for (Prefab prefab : prefabManager.listPrefabs(ProcessDefinitionComponent.class)) {
-            ProcessDefinitionComponent processDef = prefab.getComponent(ProcessDefinitionComponent.class);
-            if (processDef.processType.equals(processType)) {
-                WorkstationProcess process = factory.createProcess(prefab);
-                if (process != null) {
-                    processes.put(process.getId(), process);
-                }
+        // scanning a type for the first time doesn't change the processes of the types that have been used
+        boolean existingProcessesChanged = scannedTypes.contains(processType);
+        int failedCount = 0;
+        for (Prefab prefab : prefabs) {
+            WorkstationProcess process = factory.createProcess(prefab);
+            if (process != null) {
+                WorkstationProcess previousProcess = processes.put(process.getId(), process);
+                existingProcessesChanged |= previousProcess != null;
+                releaseProcess(previousProcess);
+                processIdsByPrefab.put(prefab.getUrn(), process.getId());
+            } else {
+                failedCount++;
             }
         }
         workstationProcesses.put(processType, processes);
+        for (WorkstationProcess process : processes.values()) {
+            indexProcess(processType, process);
+        }
         scannedTypes.add(processType);
+        if (existingProcessesChanged) {
+            processesChanged();
+        } else {
+            processesAdded();
+        }
+        return failedCount;
+    }
+
+    private Map<String, List<Prefab>> getProcessPrefabIndex() {
+        if (processPrefabsByType == null) {
+            long start = System.nanoTime();
+            Map<String, List<Prefab>> index = new HashMap<>();
+            Map<ResourceUrn, IndexedPrefab> prefabs = new HashMap<>();
+            int prefabCount = 0;
+            for (Prefab prefab : prefabManager.listPrefabs(ProcessDefinitionComponent.class)) {
+                ProcessDefinitionComponent processDef = prefab.getComponent(ProcessDefinitionComponent.class);
+                if (processDef.processType != null) {
+                    index.computeIfAbsent(processDef.processType, type -> new ArrayList<>()).add(prefab);
+                    prefabs.put(prefab.getUrn(), new IndexedPrefab(prefab, processDef.processType));
+                    prefabCount++;
+                }
+            }
+            processPrefabsByType = index;
+            indexedPrefabs = prefabs;
+            logger.info("Indexed {} process prefabs of {} process types in {}ms", prefabCount, index.size(),
+                    (System.nanoTime() - start) / 1000000);
+        }
+        return processPrefabsByType;
     }
 
-    @Command(shortDescription = "Reset all workstation processes")
+    @Command(shortDescription = "Reload the workstation processes of the process prefabs that were changed, added or removed")
+    public String reloadWorkstationProcesses() {
+        if (processPrefabsByType == null) {
+            return "No processes have been loaded yet";
+        }
+        return "Reloaded the processes of " + reloadChangedProcesses() + " changed process prefabs";
+    }
+
+    @Command(shortDescription = "Reset all workstation processes, reloadWorkstationProcesses is enough for changed prefabs")
     public String resetWorkstationProcesses() {
+        for (WorkstationProcess process : processesById.values()) {
+            releaseProcess(process);
+        }
+        descriptionsById.clear();
         scannedTypes.clear();
         workstationProcesses.clear();
+        processesById.clear();
+        processTypesById.clear();
+        processIdsByPrefab.clear();
+        processPrefabsByType = null;
+        processesChanged();
         return "All known processes cleared";
     }
 
+    @Command(shortDescription = "Show how often the temporary process entities used for validation were reused")
+    public String workstationProcessEntityStats() {
+        long created = 0;
+        long reused = 0;
+        for (WorkstationProcess process : processesById.values()) {
+            if (process instanceof ProcessPartWorkstationProcess) {
+                created += ((ProcessPartWorkstationProcess) process).getTemporaryEntitiesCreated();
+                reused += ((ProcessPartWorkstationProcess) process).getTemporaryEntitiesReused();
+            }
+        }
+        return "Temporary process entities created: " + created + ", reused: " + reused;
+    }
+
+    private static final class ProcessDescriptions {
+        private final Collection<ProcessPartDescription> inputs;
+        private final Collection<ProcessPartDescription> outputs;
+
+        private ProcessDescriptions(WorkstationProcess process) {
+            if (process instanceof DescribeProcess) {
+                inputs = ImmutableList.copyOf(((DescribeProcess) process).getInputDescriptions());
+                outputs = ImmutableList.copyOf(((DescribeProcess) process).getOutputDescriptions());
+            } else {
+                inputs = Collections.emptyList();
+                outputs = Collections.emptyList();
+            }
+        }
+    }
+
+    private static final class IndexedPrefab {
+        private final Prefab prefab;
+        private final String processType;
+        private final List<Component> components = new ArrayList<>();
+
+        private IndexedPrefab(Prefab prefab, String processType) {
+            this.prefab = prefab;
+            this.processType = processType;
+            for (Component component : prefab.iterateComponents()) {
+                components.add(component);
+            }
+        }
+
+        private boolean isChanged(Prefab current) {
+            if (current != prefab || current.isDisposed()) {
+                return true;
+            }
+            int index = 0;
+            for (Component component : current.iterateComponents()) {
+                if (index >= components.size() || components.get(index) != component) {
+                    return true;
+                }
+                index++;
+            }
+            return index != components.size();
+        }
+    }
 }
@@ -8,6 +8,8 @@ import org.terasology.nui.databinding.DefaultBinding;
 import org.terasology.nui.widgets.TooltipLine;
 import org.terasology.nui.widgets.UIList;
 
+import java.util.ArrayList;
+
 public class InventoryItem extends ItemCell {
 
     EntityRef item;
@@ -28,6 +30,21 @@ public class InventoryItem extends ItemCell {
         this.item = EntityRef.NULL;
     }
 
+    /**
+     * Creates a widget showing the same as another one, which it does not share any state with.
+     */
+    public InventoryItem(InventoryItem other) {
+        this.item = EntityRef.NULL;
+        icon.bindIcon(new DefaultBinding(other.icon.getIcon()));
+        icon.bindMesh(new DefaultBinding(other.icon.getMesh()));
+        icon.bindQuantity(new DefaultBinding(other.icon.getQuantity()));
+        UIList<TooltipLine> tooltip = (UIList<TooltipLine>) icon.getTooltip();
+        UIList<TooltipLine> otherTooltip = (UIList<TooltipLine>) other.icon.getTooltip();
+        if (tooltip != null && otherTooltip != null) {
+            tooltip.bindList(new DefaultBinding(new ArrayList<>(otherTooltip.getList())));
+        }
+    }
+
 
     @Override
     public EntityRef getTargetItem() {
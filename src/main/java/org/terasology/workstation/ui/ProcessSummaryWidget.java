@@ -3,6 +3,7 @@
 package org.terasology.workstation.ui;
 
 import org.joml.Vector2i;
+import org.terasology.engine.registry.CoreRegistry;
 import org.terasology.engine.utilities.Assets;
 import org.terasology.nui.Canvas;
 import org.terasology.nui.CoreWidget;
@@ -13,6 +14,7 @@ import org.terasology.nui.widgets.UILabel;
 import org.terasology.workstation.process.DescribeProcess;
 import org.terasology.workstation.process.ProcessPartDescription;
 import org.terasology.workstation.process.WorkstationProcess;
+import org.terasology.workstation.system.WorkstationRegistry;
 
 /**
  * Displays the input and output of a process
@@ -22,29 +24,28 @@ public class ProcessSummaryWidget extends CoreWidget {
 
     public ProcessSummaryWidget(WorkstationProcess process) {
         FlowLayout flowLayout = new FlowLayout();
-        UIImage plus = new UIImage(Assets.getTextureRegion("workstation:plus").get());
-        UIImage eq = new UIImage(Assets.getTextureRegion("workstation:equals").get());
 
         if (process instanceof DescribeProcess) {
-            DescribeProcess describeProcess = (DescribeProcess) process;
+            // the descriptions are created once by the registry, each summary gets new widgets from them
+            WorkstationRegistry workstationRegistry = CoreRegistry.get(WorkstationRegistry.class);
             boolean isFirst = true;
             // add all input widgets
-            for (ProcessPartDescription inputDesc : describeProcess.getInputDescriptions()) {
+            for (ProcessPartDescription inputDesc : workstationRegistry.getInputDescriptions(process)) {
                 if (!isFirst) {
-                    flowLayout.addWidget(plus, null);
+                    flowLayout.addWidget(createImage("workstation:plus"), null);
                 }
                 isFirst = false;
                 flowLayout.addWidget(inputDesc.getWidget(), null);
             }
 
             // add the equals separator
-            flowLayout.addWidget(eq, null);
+            flowLayout.addWidget(createImage("workstation:equals"), null);
 
             // add the output widgets
             isFirst = true;
-            for (ProcessPartDescription outputDesc : describeProcess.getOutputDescriptions()) {
+            for (ProcessPartDescription outputDesc : workstationRegistry.getOutputDescriptions(process)) {
                 if (!isFirst) {
-                    flowLayout.addWidget(plus, null);
+                    flowLayout.addWidget(createImage("workstation:plus"), null);
                 }
                 isFirst = false;
                 flowLayout.addWidget(outputDesc.getWidget(), null);
@@ -58,6 +59,9 @@ public class ProcessSummaryWidget extends CoreWidget {
         }
     }
 
+    private static UIImage createImage(String textureRegion) {
+        return new UIImage(Assets.getTextureRegion(textureRegion).get());
+    }
 
     @Override
     public void onDraw(Canvas canvas) {
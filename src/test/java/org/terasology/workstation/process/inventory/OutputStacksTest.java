@@ -0,0 +1,135 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.process.inventory;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.entitySystem.entity.EntityBuilder;
+import org.terasology.engine.entitySystem.entity.EntityManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.logic.inventory.ItemComponent;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.module.inventory.components.InventoryComponent;
+import org.terasology.workstation.component.WorkstationInventoryComponent;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OutputStacksTest {
+    private static final String OUTPUT = "OUTPUT";
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final BlockManager blockManager = mock(BlockManager.class);
+
+    private static ItemComponent item(String stackId, int maxStackSize, int stackCount) {
+        ItemComponent item = new ItemComponent();
+        item.stackId = stackId;
+        item.maxStackSize = (byte) maxStackSize;
+        item.stackCount = (byte) stackCount;
+        return item;
+    }
+
+    private static EntityRef itemEntity(ItemComponent item) {
+        EntityRef entity = mock(EntityRef.class);
+        when(entity.exists()).thenReturn(true);
+        when(entity.getComponent(ItemComponent.class)).thenReturn(item);
+        return entity;
+    }
+
+    /**
+     * @param slots the items in the output slots, {@link EntityRef#NULL} for an empty slot
+     */
+    private static EntityRef workstation(EntityRef... slots) {
+        InventoryComponent inventory = new InventoryComponent();
+        inventory.itemSlots = Arrays.asList(slots);
+        WorkstationInventoryComponent workstationInventory = new WorkstationInventoryComponent();
+        workstationInventory.slotAssignments.put(OUTPUT, new WorkstationInventoryComponent.SlotAssignment(0, slots.length));
+
+        EntityRef workstation = mock(EntityRef.class);
+        when(workstation.exists()).thenReturn(true);
+        when(workstation.getComponent(InventoryComponent.class)).thenReturn(inventory);
+        when(workstation.getComponent(WorkstationInventoryComponent.class)).thenReturn(workstationInventory);
+        return workstation;
+    }
+
+    private void prefab(String prefabName, ItemComponent item) {
+        EntityBuilder builder = mock(EntityBuilder.class);
+        when(builder.getComponent(ItemComponent.class)).thenReturn(item);
+        when(entityManager.newBuilder(prefabName)).thenReturn(builder);
+    }
+
+    private OutputStacks outputs(Object... prefabsAndCounts) {
+        Map<String, Integer> itemCounts = new LinkedHashMap<>();
+        for (int i = 0; i < prefabsAndCounts.length; i += 2) {
+            itemCounts.put((String) prefabsAndCounts[i], (Integer) prefabsAndCounts[i + 1]);
+        }
+        return OutputStacks.compile(Collections.emptyMap(), itemCounts, entityManager, blockManager);
+    }
+
+    @Test
+    public void fitsIntoPartialStackOfTheSameStackId() {
+        prefab("test:plank", item("plank", 99, 1));
+        EntityRef workstation = workstation(itemEntity(item("plank", 99, 90)));
+
+        assertTrue(outputs("test:plank", 9).fitInto(workstation, OUTPUT));
+        assertFalse(outputs("test:plank", 10).fitInto(workstation, OUTPUT));
+    }
+
+    @Test
+    public void doesNotFitIntoPartialStackOfAnotherStackId() {
+        prefab("test:plank", item("plank", 99, 1));
+        EntityRef workstation = workstation(itemEntity(item("stick", 99, 1)));
+
+        assertFalse(outputs("test:plank", 1).fitInto(workstation, OUTPUT));
+    }
+
+    @Test
+    public void splitsOverflowIntoFullStacks() {
+        prefab("test:plank", item("plank", 10, 1));
+
+        assertTrue(outputs("test:plank", 20).fitInto(workstation(EntityRef.NULL, EntityRef.NULL), OUTPUT));
+        assertFalse(outputs("test:plank", 21).fitInto(workstation(EntityRef.NULL, EntityRef.NULL), OUTPUT));
+    }
+
+    @Test
+    public void fillsPartialStackBeforeOverflowingIntoEmptySlot() {
+        prefab("test:plank", item("plank", 10, 1));
+        EntityRef workstation = workstation(itemEntity(item("plank", 10, 5)), EntityRef.NULL);
+
+        assertTrue(outputs("test:plank", 15).fitInto(workstation, OUTPUT));
+        assertFalse(outputs("test:plank", 16).fitInto(workstation, OUTPUT));
+    }
+
+    @Test
+    public void outputsCompeteForTheEmptySlots() {
+        prefab("test:plank", item("plank", 99, 1));
+        prefab("test:stick", item("stick", 99, 1));
+        OutputStacks outputs = outputs("test:plank", 1, "test:stick", 1);
+
+        assertFalse(outputs.fitInto(workstation(EntityRef.NULL), OUTPUT));
+        assertTrue(outputs.fitInto(workstation(EntityRef.NULL, EntityRef.NULL), OUTPUT));
+    }
+
+    @Test
+    public void outputsOfTheSameStackIdShareASlot() {
+        prefab("test:plank", item("plank", 99, 1));
+        prefab("test:otherPlank", item("plank", 99, 1));
+
+        assertTrue(outputs("test:plank", 1, "test:otherPlank", 1).fitInto(workstation(EntityRef.NULL), OUTPUT));
+    }
+
+    @Test
+    public void unstackableOutputsNeedASlotEach() {
+        prefab("test:tool", item("", 1, 1));
+        prefab("test:otherTool", item("", 1, 1));
+
+        assertFalse(outputs("test:tool", 1, "test:otherTool", 1).fitInto(workstation(EntityRef.NULL), OUTPUT));
+        assertTrue(outputs("test:tool", 1, "test:otherTool", 1).fitInto(workstation(EntityRef.NULL, EntityRef.NULL), OUTPUT));
+    }
+}
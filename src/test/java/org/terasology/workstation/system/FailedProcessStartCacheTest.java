@@ -0,0 +1,107 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.system;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FailedProcessStartCacheTest {
+    private static final String PROCESS = "test:process";
+    private static final String OTHER_PROCESS = "test:otherProcess";
+
+    private static EntityRef workstation(long id) {
+        EntityRef workstation = mock(EntityRef.class);
+        when(workstation.getId()).thenReturn(id);
+        return workstation;
+    }
+
+    @Test
+    public void unknownProcessIsNotAKnownFailure() {
+        FailedProcessStartCache cache = new FailedProcessStartCache();
+
+        assertFalse(cache.isKnownFailure(workstation(1), PROCESS, 42));
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void recordedFailureIsHitWithTheSameFingerprint() {
+        FailedProcessStartCache cache = new FailedProcessStartCache();
+        EntityRef workstation = workstation(1);
+        cache.recordFailure(workstation, PROCESS, 42);
+
+        assertTrue(cache.isKnownFailure(workstation, PROCESS, 42));
+        assertEquals(1, cache.getHits());
+        assertEquals(0, cache.getMisses());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void changedFingerprintInvalidatesFailure() {
+        FailedProcessStartCache cache = new FailedProcessStartCache();
+        EntityRef workstation = workstation(1);
+        cache.recordFailure(workstation, PROCESS, 42);
+
+        assertFalse(cache.isKnownFailure(workstation, PROCESS, 43));
+        assertEquals(1, cache.getMisses());
+
+        cache.recordFailure(workstation, PROCESS, 43);
+        assertTrue(cache.isKnownFailure(workstation, PROCESS, 43));
+        assertFalse(cache.isKnownFailure(workstation, PROCESS, 42));
+    }
+
+    @Test
+    public void failuresAreKeptPerProcessAndWorkstation() {
+        FailedProcessStartCache cache = new FailedProcessStartCache();
+        EntityRef workstation = workstation(1);
+        cache.recordFailure(workstation, PROCESS, 42);
+
+        assertFalse(cache.isKnownFailure(workstation, OTHER_PROCESS, 42));
+        assertFalse(cache.isKnownFailure(workstation(2), PROCESS, 42));
+    }
+
+    @Test
+    public void successForgetsFailure() {
+        FailedProcessStartCache cache = new FailedProcessStartCache();
+        EntityRef workstation = workstation(1);
+        cache.recordFailure(workstation, PROCESS, 42);
+        cache.recordFailure(workstation, OTHER_PROCESS, 42);
+        cache.recordSuccess(workstation, PROCESS);
+
+        assertFalse(cache.isKnownFailure(workstation, PROCESS, 42));
+        assertTrue(cache.isKnownFailure(workstation, OTHER_PROCESS, 42));
+    }
+
+    @Test
+    public void removeForgetsAllFailuresOfTheWorkstation() {
+        FailedProcessStartCache cache = new FailedProcessStartCache();
+        EntityRef removed = workstation(1);
+        EntityRef kept = workstation(2);
+        cache.recordFailure(removed, PROCESS, 42);
+        cache.recordFailure(removed, OTHER_PROCESS, 42);
+        cache.recordFailure(kept, PROCESS, 42);
+        cache.remove(removed);
+
+        assertEquals(1, cache.size());
+        assertFalse(cache.isKnownFailure(removed, PROCESS, 42));
+        assertFalse(cache.isKnownFailure(removed, OTHER_PROCESS, 42));
+        assertTrue(cache.isKnownFailure(kept, PROCESS, 42));
+    }
+
+    @Test
+    public void clearForgetsAllFailures() {
+        FailedProcessStartCache cache = new FailedProcessStartCache();
+        cache.recordFailure(workstation(1), PROCESS, 42);
+        cache.recordFailure(workstation(2), PROCESS, 42);
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertFalse(cache.isKnownFailure(workstation(1), PROCESS, 42));
+    }
+}
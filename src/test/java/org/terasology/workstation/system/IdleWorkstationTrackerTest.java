@@ -0,0 +1,137 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.system;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.terasology.workstation.system.WorkstationAuthoritySystem.MAX_AUTOMATIC_PROCESSING_REVIVALS_PER_TICK;
+
+public class IdleWorkstationTrackerTest {
+    private static EntityRef workstation(long id) {
+        EntityRef workstation = mock(EntityRef.class);
+        when(workstation.getId()).thenReturn(id);
+        return workstation;
+    }
+
+    @Test
+    public void returnsDueWorkstationsInInsertionOrder() {
+        IdleWorkstationTracker tracker = new IdleWorkstationTracker();
+        EntityRef first = workstation(1);
+        EntityRef second = workstation(2);
+        tracker.add(first, 1000);
+        tracker.add(second, 1000);
+
+        List<EntityRef> due = tracker.pollDue(1000, MAX_AUTOMATIC_PROCESSING_REVIVALS_PER_TICK);
+        assertEquals(2, due.size());
+        assertSame(first, due.get(0));
+        assertSame(second, due.get(1));
+        assertEquals(0, tracker.size());
+    }
+
+    @Test
+    public void keepsWorkstationsThatAreNotDue() {
+        IdleWorkstationTracker tracker = new IdleWorkstationTracker();
+        EntityRef workstation = workstation(1);
+        tracker.add(workstation, 2000);
+
+        assertTrue(tracker.pollDue(1999, MAX_AUTOMATIC_PROCESSING_REVIVALS_PER_TICK).isEmpty());
+        assertEquals(1, tracker.size());
+        assertSame(workstation, tracker.pollDue(2000, MAX_AUTOMATIC_PROCESSING_REVIVALS_PER_TICK).get(0));
+    }
+
+    @Test
+    public void addFirstGoesAheadOfWaitingWorkstations() {
+        IdleWorkstationTracker tracker = new IdleWorkstationTracker();
+        EntityRef waiting = workstation(1);
+        EntityRef changed = workstation(2);
+        tracker.add(waiting, 1000);
+        tracker.addFirst(changed, 1000);
+
+        List<EntityRef> due = tracker.pollDue(1000, MAX_AUTOMATIC_PROCESSING_REVIVALS_PER_TICK);
+        assertSame(changed, due.get(0));
+        assertSame(waiting, due.get(1));
+    }
+
+    @Test
+    public void addsWorkstationOnce() {
+        IdleWorkstationTracker tracker = new IdleWorkstationTracker();
+        EntityRef workstation = workstation(1);
+        tracker.add(workstation, 1000);
+        tracker.add(workstation, 500);
+        tracker.addFirst(workstation, 500);
+
+        assertEquals(1, tracker.size());
+        assertTrue(tracker.pollDue(999, MAX_AUTOMATIC_PROCESSING_REVIVALS_PER_TICK).isEmpty());
+        assertEquals(1, tracker.pollDue(1000, MAX_AUTOMATIC_PROCESSING_REVIVALS_PER_TICK).size());
+    }
+
+    @Test
+    public void revivesAtMostTheCapPerTick() {
+        IdleWorkstationTracker tracker = new IdleWorkstationTracker();
+        int count = MAX_AUTOMATIC_PROCESSING_REVIVALS_PER_TICK + 8;
+        for (int id = 1; id <= count; id++) {
+            tracker.add(workstation(id), 1000);
+        }
+
+        List<EntityRef> due = tracker.pollDue(1000, MAX_AUTOMATIC_PROCESSING_REVIVALS_PER_TICK);
+        assertEquals(MAX_AUTOMATIC_PROCESSING_REVIVALS_PER_TICK, due.size());
+        assertEquals(MAX_AUTOMATIC_PROCESSING_REVIVALS_PER_TICK, due.get(due.size() - 1).getId());
+        assertEquals(8, tracker.size());
+
+        due = tracker.pollDue(1050, MAX_AUTOMATIC_PROCESSING_REVIVALS_PER_TICK);
+        assertEquals(8, due.size());
+        assertEquals(MAX_AUTOMATIC_PROCESSING_REVIVALS_PER_TICK + 1, due.get(0).getId());
+        assertEquals(0, tracker.size());
+    }
+
+    @Test
+    public void removedWorkstationIsNotReturned() {
+        IdleWorkstationTracker tracker = new IdleWorkstationTracker();
+        EntityRef removed = workstation(1);
+        EntityRef kept = workstation(2);
+        tracker.add(removed, 1000);
+        tracker.add(kept, 1000);
+        tracker.remove(removed);
+
+        assertEquals(1, tracker.size());
+        List<EntityRef> due = tracker.pollDue(1000, MAX_AUTOMATIC_PROCESSING_REVIVALS_PER_TICK);
+        assertEquals(1, due.size());
+        assertSame(kept, due.get(0));
+    }
+
+    @Test
+    public void staleEntriesDoNotCountAgainstTheCap() {
+        IdleWorkstationTracker tracker = new IdleWorkstationTracker();
+        for (int id = 1; id <= MAX_AUTOMATIC_PROCESSING_REVIVALS_PER_TICK; id++) {
+            EntityRef workstation = workstation(id);
+            tracker.add(workstation, 1000);
+            tracker.remove(workstation);
+        }
+        EntityRef kept = workstation(100);
+        tracker.add(kept, 1000);
+
+        List<EntityRef> due = tracker.pollDue(1000, MAX_AUTOMATIC_PROCESSING_REVIVALS_PER_TICK);
+        assertEquals(1, due.size());
+        assertSame(kept, due.get(0));
+    }
+
+    @Test
+    public void removedWorkstationCanBeAddedAgain() {
+        IdleWorkstationTracker tracker = new IdleWorkstationTracker();
+        EntityRef workstation = workstation(1);
+        tracker.add(workstation, 1000);
+        tracker.remove(workstation);
+        tracker.add(workstation, 3000);
+
+        assertTrue(tracker.pollDue(2000, MAX_AUTOMATIC_PROCESSING_REVIVALS_PER_TICK).isEmpty());
+        assertEquals(1, tracker.pollDue(3000, MAX_AUTOMATIC_PROCESSING_REVIVALS_PER_TICK).size());
+    }
+}
@@ -0,0 +1,158 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.system;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PendingWorkstationQueueTest {
+    private static EntityRef workstation(long id) {
+        EntityRef workstation = mock(EntityRef.class);
+        when(workstation.getId()).thenReturn(id);
+        return workstation;
+    }
+
+    private static Set<Integer> slots(Integer... slots) {
+        return new HashSet<>(Arrays.asList(slots));
+    }
+
+    @Test
+    public void pollsInInsertionOrder() {
+        PendingWorkstationQueue queue = new PendingWorkstationQueue();
+        EntityRef first = workstation(1);
+        EntityRef second = workstation(2);
+        queue.add(first);
+        queue.add(second);
+
+        assertEquals(2, queue.size());
+        assertSame(first, queue.poll().getWorkstation());
+        assertSame(second, queue.poll().getWorkstation());
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void queuesWorkstationOnce() {
+        PendingWorkstationQueue queue = new PendingWorkstationQueue();
+        EntityRef first = workstation(1);
+        queue.add(first);
+        queue.add(workstation(2));
+        queue.add(first);
+
+        assertEquals(2, queue.size());
+        assertSame(first, queue.poll().getWorkstation());
+    }
+
+    @Test
+    public void keepsOrderWhenWrappingAround() {
+        PendingWorkstationQueue queue = new PendingWorkstationQueue();
+        long nextId = 1;
+        long nextPolledId = 1;
+        // moves the head around the ring buffer several times without growing it
+        for (int i = 0; i < 10; i++) {
+            queue.add(workstation(nextId++));
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 7; i++) {
+                queue.add(workstation(nextId++));
+            }
+            for (int i = 0; i < 7; i++) {
+                assertEquals(nextPolledId++, queue.poll().getWorkstation().getId());
+            }
+        }
+        assertEquals(10, queue.size());
+        while (!queue.isEmpty()) {
+            assertEquals(nextPolledId++, queue.poll().getWorkstation().getId());
+        }
+        assertEquals(nextId, nextPolledId);
+    }
+
+    @Test
+    public void keepsOrderWhenGrowingWhileWrappedAround() {
+        PendingWorkstationQueue queue = new PendingWorkstationQueue();
+        for (int id = 1; id <= 12; id++) {
+            queue.add(workstation(id));
+        }
+        for (int id = 1; id <= 8; id++) {
+            queue.poll();
+        }
+        // wraps around the initial capacity of 16 and then grows past it
+        for (int id = 13; id <= 40; id++) {
+            queue.add(workstation(id));
+        }
+
+        assertEquals(32, queue.size());
+        for (int id = 9; id <= 40; id++) {
+            assertEquals(id, queue.poll().getWorkstation().getId());
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void generalCheckReplacesSlotCheck() {
+        PendingWorkstationQueue queue = new PendingWorkstationQueue();
+        EntityRef workstation = workstation(1);
+        queue.add(workstation, slots(1, 2), false);
+        queue.add(workstation);
+
+        assertEquals(1, queue.size());
+        PendingWorkstationCheck check = queue.poll();
+        assertTrue(check.isGeneral());
+        assertTrue(check.getChangedSlots().isEmpty());
+    }
+
+    @Test
+    public void slotCheckIsIgnoredAfterGeneralCheck() {
+        PendingWorkstationQueue queue = new PendingWorkstationQueue();
+        EntityRef workstation = workstation(1);
+        queue.add(workstation);
+        queue.add(workstation, slots(3), true);
+
+        assertEquals(1, queue.size());
+        PendingWorkstationCheck check = queue.poll();
+        assertTrue(check.isGeneral());
+        assertTrue(check.getChangedSlots().isEmpty());
+        assertFalse(check.isFluidsChanged());
+    }
+
+    @Test
+    public void mergesChangedSlots() {
+        PendingWorkstationQueue queue = new PendingWorkstationQueue();
+        EntityRef workstation = workstation(1);
+        queue.add(workstation, slots(1, 2), false);
+        queue.add(workstation, slots(2, 5), false);
+        queue.add(workstation, Collections.emptySet(), true);
+
+        assertEquals(1, queue.size());
+        PendingWorkstationCheck check = queue.poll();
+        assertFalse(check.isGeneral());
+        assertEquals(slots(1, 2, 5), check.getChangedSlots());
+        assertTrue(check.isFluidsChanged());
+    }
+
+    @Test
+    public void startsOverAfterPoll() {
+        PendingWorkstationQueue queue = new PendingWorkstationQueue();
+        EntityRef workstation = workstation(1);
+        queue.add(workstation);
+        queue.poll();
+        queue.add(workstation, slots(4), false);
+
+        PendingWorkstationCheck check = queue.poll();
+        assertFalse(check.isGeneral());
+        assertEquals(slots(4), check.getChangedSlots());
+    }
+}
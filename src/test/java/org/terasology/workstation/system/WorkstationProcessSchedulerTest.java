@@ -0,0 +1,69 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.workstation.system;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class WorkstationProcessSchedulerTest {
+    private static final long TICK = 50;
+
+    @Test
+    public void returnsEntryDueLaterInTheCurrentTick() {
+        WorkstationProcessScheduler scheduler = new WorkstationProcessScheduler(TICK, 512);
+        scheduler.pollDue(1000);
+        scheduler.schedule(EntityRef.NULL, 1030);
+
+        assertEquals(0, scheduler.pollDue(1010).size());
+        assertEquals(0, scheduler.pollDue(1020).size());
+        assertEquals(1, scheduler.pollDue(1030).size());
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    public void returnsEntryOfALaterTickOnce() {
+        WorkstationProcessScheduler scheduler = new WorkstationProcessScheduler(TICK, 512);
+        scheduler.pollDue(1000);
+        scheduler.schedule(EntityRef.NULL, 1120);
+
+        assertEquals(0, scheduler.pollDue(1100).size());
+        assertEquals(0, scheduler.pollDue(1110).size());
+        assertEquals(1, scheduler.pollDue(1125).size());
+        assertEquals(0, scheduler.pollDue(1140).size());
+    }
+
+    @Test
+    public void returnsEntryScheduledInThePast() {
+        WorkstationProcessScheduler scheduler = new WorkstationProcessScheduler(TICK, 512);
+        scheduler.pollDue(1000);
+        scheduler.pollDue(1200);
+        scheduler.schedule(EntityRef.NULL, 900);
+
+        assertEquals(1, scheduler.pollDue(1210).size());
+    }
+
+    @Test
+    public void keepsEntryOfALaterRevolution() {
+        WorkstationProcessScheduler scheduler = new WorkstationProcessScheduler(TICK, 4);
+        scheduler.pollDue(1000);
+        scheduler.schedule(EntityRef.NULL, 1000 + 4 * TICK + 10);
+
+        assertEquals(0, scheduler.pollDue(1010).size());
+        assertEquals(0, scheduler.pollDue(1000 + 4 * TICK).size());
+        assertEquals(1, scheduler.pollDue(1000 + 4 * TICK + 10).size());
+    }
+
+    @Test
+    public void clearStartsOver() {
+        WorkstationProcessScheduler scheduler = new WorkstationProcessScheduler(TICK, 512);
+        scheduler.pollDue(100000);
+        scheduler.schedule(EntityRef.NULL, 100030);
+        scheduler.clear();
+
+        assertEquals(0, scheduler.size());
+        scheduler.schedule(EntityRef.NULL, 1030);
+        assertEquals(1, scheduler.pollDue(1040).size());
+    }
+}